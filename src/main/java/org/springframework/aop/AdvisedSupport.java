@@ -1,13 +1,31 @@
 package org.springframework.aop;
 
 import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.adapter.AdvisorAdapterRegistry;
+import org.springframework.aop.framework.adapter.GlobalAdvisorAdapterRegistry;
+import org.springframework.core.OrderComparator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * 代理的配置：目标对象和按Ordered排序的Advisor列表。
+ * 单独设置的methodInterceptor和methodMatcher相当于排在最前面的一个Advisor
+ *
  * @author derekyi
  * @date 2020/12/6
  */
 public class AdvisedSupport {
 
+	private static final Advisor[] EMPTY_ADVISORS = new Advisor[0];
+
 	//是否使用cglib代理
 	private boolean proxyTargetClass = true;
 
@@ -17,6 +35,25 @@ public class AdvisedSupport {
 
 	private MethodMatcher methodMatcher;
 
+	/**
+	 * 排好序的Advisor，修改时整体替换
+	 */
+	private volatile Advisor[] advisors = EMPTY_ADVISORS;
+
+	private AdvisorAdapterRegistry advisorAdapterRegistry = GlobalAdvisorAdapterRegistry.getInstance();
+
+	/**
+	 * 方法 -> 目标类 -> 拦截器链，避免每次调用都执行切点匹配；配置变化时替换为新的缓存。
+	 * 切点按目标类匹配，目标对象的类可能变化（如HotSwappableTargetSource），因此按(方法, 目标类)缓存；
+	 * 分两级查找，调用时不需要创建组合key
+	 */
+	private volatile Map<Method, Map<Class<?>, List<MethodInterceptor>>> methodCache = new ConcurrentHashMap<>(32);
+
+	/**
+	 * 配置的版本，每次配置变化时加一，代理据此判断自己缓存的分派表是否过期
+	 */
+	private final AtomicInteger adviceVersion = new AtomicInteger();
+
 	public boolean isProxyTargetClass() {
 		return proxyTargetClass;
 	}
@@ -31,6 +68,7 @@ public class AdvisedSupport {
 
 	public void setTargetSource(TargetSource targetSource) {
 		this.targetSource = targetSource;
+		adviceChanged();
 	}
 
 	public MethodInterceptor getMethodInterceptor() {
@@ -39,6 +77,7 @@ public class AdvisedSupport {
 
 	public void setMethodInterceptor(MethodInterceptor methodInterceptor) {
 		this.methodInterceptor = methodInterceptor;
+		adviceChanged();
 	}
 
 	public MethodMatcher getMethodMatcher() {
@@ -47,5 +86,96 @@ public class AdvisedSupport {
 
 	public void setMethodMatcher(MethodMatcher methodMatcher) {
 		this.methodMatcher = methodMatcher;
+		adviceChanged();
+	}
+
+	/**
+	 * 添加Advisor，按Ordered重新排序，优先级相同时按添加顺序
+	 *
+	 * @param advisor
+	 */
+	public void addAdvisor(Advisor advisor) {
+		addAdvisors(Collections.singletonList(advisor));
+	}
+
+	public synchronized void addAdvisors(Collection<? extends Advisor> advisors) {
+		List<Advisor> newAdvisors = new ArrayList<>(Arrays.asList(this.advisors));
+		newAdvisors.addAll(advisors);
+		OrderComparator.sort(newAdvisors);
+		this.advisors = newAdvisors.toArray(EMPTY_ADVISORS);
+		adviceChanged();
+	}
+
+	public synchronized boolean removeAdvisor(Advisor advisor) {
+		List<Advisor> newAdvisors = new ArrayList<>(Arrays.asList(this.advisors));
+		if (!newAdvisors.remove(advisor)) {
+			return false;
+		}
+		this.advisors = newAdvisors.toArray(EMPTY_ADVISORS);
+		adviceChanged();
+		return true;
+	}
+
+	public List<Advisor> getAdvisors() {
+		return Collections.unmodifiableList(Arrays.asList(this.advisors));
+	}
+
+	public AdvisorAdapterRegistry getAdvisorAdapterRegistry() {
+		return advisorAdapterRegistry;
+	}
+
+	public void setAdvisorAdapterRegistry(AdvisorAdapterRegistry advisorAdapterRegistry) {
+		this.advisorAdapterRegistry = advisorAdapterRegistry;
+		adviceChanged();
+	}
+
+	/**
+	 * 获取方法的拦截器链，第一次调用时匹配切点，之后直接读取缓存
+	 *
+	 * @param method
+	 * @param targetClass
+	 * @return 不需要拦截时为空列表
+	 */
+	public List<MethodInterceptor> getInterceptorsAndDynamicInterceptionAdvice(Method method, Class<?> targetClass) {
+		Map<Method, Map<Class<?>, List<MethodInterceptor>>> cache = this.methodCache;
+		Map<Class<?>, List<MethodInterceptor>> chainByClass = cache.get(method);
+		if (chainByClass == null) {
+			chainByClass = cache.computeIfAbsent(method, key -> new ConcurrentHashMap<>(4));
+		}
+		List<MethodInterceptor> cached = chainByClass.get(targetClass);
+		if (cached == null) {
+			cached = chainByClass.computeIfAbsent(targetClass, key -> buildInterceptorChain(method, key));
+		}
+		return cached;
+	}
+
+	private List<MethodInterceptor> buildInterceptorChain(Method method, Class<?> targetClass) {
+		List<MethodInterceptor> chain = new ArrayList<>();
+		if (methodInterceptor != null && methodMatcher != null && methodMatcher.matches(method, targetClass)) {
+			chain.add(methodInterceptor);
+		}
+		for (Advisor advisor : this.advisors) {
+			if (advisor instanceof PointcutAdvisor) {
+				Pointcut pointcut = ((PointcutAdvisor) advisor).getPointcut();
+				if (!pointcut.getClassFilter().matches(targetClass) || !pointcut.getMethodMatcher().matches(method, targetClass)) {
+					continue;
+				}
+			}
+			chain.addAll(Arrays.asList(advisorAdapterRegistry.getInterceptors(advisor)));
+		}
+		return chain.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(chain);
+	}
+
+	/**
+	 * 通知配置变化，丢弃拦截器链缓存。
+	 * 替换而不是清空缓存，避免并发调用时把按旧配置匹配的结果放入新缓存
+	 */
+	protected void adviceChanged() {
+		this.methodCache = new ConcurrentHashMap<>(32);
+		this.adviceVersion.incrementAndGet();
+	}
+
+	public int getAdviceVersion() {
+		return adviceVersion.get();
 	}
 }
@@ -0,0 +1,13 @@
+package org.springframework.aop;
+
+import org.aopalliance.aop.Advice;
+
+/**
+ * 在被代理方法执行之后执行的advice
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface AfterAdvice extends Advice {
+
+}
@@ -0,0 +1,14 @@
+package org.springframework.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * 被代理方法正常返回后执行，不能修改返回值，抛出异常时不执行
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface AfterReturningAdvice extends AfterAdvice {
+
+	void afterReturning(Object returnValue, Method method, Object[] args, Object target) throws Throwable;
+}
@@ -0,0 +1,14 @@
+package org.springframework.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * 被代理方法抛出异常后执行，执行完后原异常继续抛出
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface AfterThrowingAdvice extends AfterAdvice {
+
+	void afterThrowing(Method method, Object[] args, Object target, Throwable ex) throws Throwable;
+}
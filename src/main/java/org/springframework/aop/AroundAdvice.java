@@ -0,0 +1,15 @@
+package org.springframework.aop;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * 环绕被代理方法执行的advice，调用invocation.proceed()执行被代理方法，可以修改返回值，也可以不执行被代理方法
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface AroundAdvice extends Advice {
+
+	Object around(MethodInvocation invocation) throws Throwable;
+}
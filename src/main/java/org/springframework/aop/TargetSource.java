@@ -1,25 +1,40 @@
 package org.springframework.aop;
 
 /**
- * 被代理的目标对象
+ * 被代理的目标对象的来源，代理每次调用时通过getTarget()获取目标对象，调用结束后通过releaseTarget()归还
  *
  * @author derekyi
  * @date 2020/12/6
  */
-public class TargetSource {
+public interface TargetSource {
 
-	private final Object target;
+	/**
+	 * 目标对象实现的接口，调用方不能修改返回的数组
+	 *
+	 * @return
+	 */
+	Class<?>[] getTargetClass();
 
-	public TargetSource(Object target) {
-		this.target = target;
-	}
+	/**
+	 * 目标对象的类型，CGLIB代理以此为父类
+	 *
+	 * @return
+	 */
+	Class<?> getTargetType();
 
-	public Class<?>[] getTargetClass() {
-		return this.target.getClass().getInterfaces();
-	}
+	/**
+	 * 每次getTarget()是否返回同一个对象，是时代理可以在创建时绑定目标对象，且不需要调用releaseTarget()
+	 *
+	 * @return
+	 */
+	boolean isStatic();
 
-	public Object getTarget() {
-		return this.target;
-	}
+	Object getTarget();
 
+	/**
+	 * 归还getTarget()获取的目标对象
+	 *
+	 * @param target
+	 */
+	void releaseTarget(Object target);
 }
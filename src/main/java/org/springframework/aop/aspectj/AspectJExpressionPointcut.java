@@ -9,7 +9,9 @@ import org.springframework.aop.Pointcut;
 
 import java.lang.reflect.Method;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author derekyi
@@ -25,6 +27,11 @@ public class AspectJExpressionPointcut implements Pointcut, ClassFilter, MethodM
 
 	private final PointcutExpression pointcutExpression;
 
+	/**
+	 * 方法 -> 是否匹配，AspectJ的shadow match开销较大，每个方法只匹配一次
+	 */
+	private final Map<Method, Boolean> shadowMatchCache = new ConcurrentHashMap<>(32);
+
 	public AspectJExpressionPointcut(String expression) {
 		PointcutParser pointcutParser = PointcutParser.getPointcutParserSupportingSpecifiedPrimitivesAndUsingSpecifiedClassLoaderForResolution(SUPPORTED_PRIMITIVES, this.getClass().getClassLoader());
 		pointcutExpression = pointcutParser.parsePointcutExpression(expression);
@@ -37,7 +44,12 @@ public class AspectJExpressionPointcut implements Pointcut, ClassFilter, MethodM
 
 	@Override
 	public boolean matches(Method method, Class<?> targetClass) {
-		return pointcutExpression.matchesMethodExecution(method).alwaysMatches();
+		Boolean matches = shadowMatchCache.get(method);
+		if (matches == null) {
+			matches = pointcutExpression.matchesMethodExecution(method).alwaysMatches();
+			shadowMatchCache.put(method, matches);
+		}
+		return matches;
 	}
 
 	@Override
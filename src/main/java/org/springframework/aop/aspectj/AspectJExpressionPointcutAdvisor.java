@@ -3,6 +3,7 @@ package org.springframework.aop.aspectj;
 import org.aopalliance.aop.Advice;
 import org.springframework.aop.Pointcut;
 import org.springframework.aop.PointcutAdvisor;
+import org.springframework.core.Ordered;
 
 /**
  * aspectJ表达式的advisor
@@ -10,7 +11,7 @@ import org.springframework.aop.PointcutAdvisor;
  * @author derekyi
  * @date 2020/12/6
  */
-public class AspectJExpressionPointcutAdvisor implements PointcutAdvisor {
+public class AspectJExpressionPointcutAdvisor implements PointcutAdvisor, Ordered {
 
 	private AspectJExpressionPointcut pointcut;
 
@@ -18,6 +19,8 @@ public class AspectJExpressionPointcutAdvisor implements PointcutAdvisor {
 
 	private String expression;
 
+	private int order = Ordered.LOWEST_PRECEDENCE;
+
 	public void setExpression(String expression) {
 		this.expression = expression;
 	}
@@ -35,7 +38,26 @@ public class AspectJExpressionPointcutAdvisor implements PointcutAdvisor {
 		return advice;
 	}
 
+	/**
+	 * MethodInterceptor或MethodBeforeAdvice、AfterReturningAdvice、AfterThrowingAdvice、AroundAdvice
+	 *
+	 * @param advice
+	 */
 	public void setAdvice(Advice advice) {
 		this.advice = advice;
 	}
+
+	/**
+	 * 同一个bean有多个Advisor时，值越小的越先执行
+	 *
+	 * @param order
+	 */
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	@Override
+	public int getOrder() {
+		return order;
+	}
 }
@@ -1,20 +1,41 @@
 package org.springframework.aop.framework;
 
+import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
 import org.springframework.aop.AdvisedSupport;
+import org.springframework.aop.TargetSource;
+import org.springframework.beans.BeansException;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * cgli动态代理
+ * 生成的代理类按(目标类, 接口, 回调类型)缓存，之后创建代理只需实例化缓存的代理类并设置回调。
+ * 缓存通过ClassValue挂在目标类上，目标类及其ClassLoader不再使用时缓存随之回收
  *
  * @author derekyi
  * @date 2020/12/6
  */
 public class CglibAopProxy implements AopProxy {
 
+	private static final Class<?>[] CALLBACK_TYPES = new Class<?>[]{MethodInterceptor.class};
+
+	//目标类 -> (接口, 回调类型) -> 代理类的构造函数，每种代理类只生成一次
+	private static final ClassValue<Map<ProxyClassKey, Constructor<?>>> proxyClassCache = new ClassValue<Map<ProxyClassKey, Constructor<?>>>() {
+		@Override
+		protected Map<ProxyClassKey, Constructor<?>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>(4);
+		}
+	};
+
 	private final AdvisedSupport advised;
 
 	public CglibAopProxy(AdvisedSupport advised) {
@@ -24,11 +45,75 @@ public class CglibAopProxy implements AopProxy {
 
 	@Override
 	public Object getProxy() {
+		Class<?> superclass = advised.getTargetSource().getTargetType();
+		Class<?>[] interfaces = advised.getTargetSource().getTargetClass();
+		ProxyClassKey key = new ProxyClassKey(superclass, interfaces, CALLBACK_TYPES);
+		Constructor<?> constructor = proxyClassCache.get(superclass).computeIfAbsent(key, CglibAopProxy::createProxyClass);
+		Object proxy;
+		try {
+			proxy = constructor.newInstance();
+		} catch (Exception ex) {
+			throw new BeansException("Could not instantiate CGLIB proxy for " + superclass.getName(), ex);
+		}
+		//构造函数执行时还没有回调，构造函数中调用的方法不会被拦截
+		((Factory) proxy).setCallbacks(new Callback[]{new DynamicAdvisedInterceptor(advised)});
+		return proxy;
+	}
+
+	private static Constructor<?> createProxyClass(ProxyClassKey key) {
 		Enhancer enhancer = new Enhancer();
-		enhancer.setSuperclass(advised.getTargetSource().getTarget().getClass());
-		enhancer.setInterfaces(advised.getTargetSource().getTargetClass());
-		enhancer.setCallback(new DynamicAdvisedInterceptor(advised));
-		return enhancer.create();
+		enhancer.setSuperclass(key.superclass);
+		enhancer.setInterfaces(key.interfaces);
+		enhancer.setCallbackTypes(key.callbackTypes);
+		//由proxyClassCache缓存，不使用CGLIB自己的缓存
+		enhancer.setUseCache(false);
+		Class<?> proxyClass = enhancer.createClass();
+		try {
+			Constructor<?> constructor = proxyClass.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (NoSuchMethodException ex) {
+			throw new BeansException("Could not generate CGLIB proxy for " + key.superclass.getName() + ": no default constructor", ex);
+		}
+	}
+
+	/**
+	 * 代理类的缓存key
+	 */
+	private static final class ProxyClassKey {
+
+		private final Class<?> superclass;
+
+		private final Class<?>[] interfaces;
+
+		private final Class<?>[] callbackTypes;
+
+		private final int hashCode;
+
+		private ProxyClassKey(Class<?> superclass, Class<?>[] interfaces, Class<?>[] callbackTypes) {
+			this.superclass = superclass;
+			this.interfaces = interfaces;
+			this.callbackTypes = callbackTypes;
+			this.hashCode = 31 * (31 * superclass.hashCode() + Arrays.hashCode(interfaces)) + Arrays.hashCode(callbackTypes);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ProxyClassKey)) {
+				return false;
+			}
+			ProxyClassKey that = (ProxyClassKey) other;
+			return superclass == that.superclass && Arrays.equals(interfaces, that.interfaces)
+					&& Arrays.equals(callbackTypes, that.callbackTypes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
 	}
 
 	/**
@@ -44,12 +129,22 @@ public class CglibAopProxy implements AopProxy {
 
 		@Override
 		public Object intercept(Object o, Method method, Object[] objects, MethodProxy methodProxy) throws Throwable {
-			CglibMethodInvocation methodInvocation = new CglibMethodInvocation(advised.getTargetSource().getTarget(), method, objects, methodProxy);
-			if (advised.getMethodMatcher().matches(method, advised.getTargetSource().getTarget().getClass())) {
-				//代理方法
-				return advised.getMethodInterceptor().invoke(methodInvocation);
+			TargetSource targetSource = advised.getTargetSource();
+			Object target = targetSource.getTarget();
+			try {
+				Class<?> targetClass = target.getClass();
+				List<org.aopalliance.intercept.MethodInterceptor> chain = advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+				if (chain.isEmpty()) {
+					//没有匹配的拦截器时直接调用目标方法，不创建MethodInvocation
+					return methodProxy.invoke(target, objects);
+				}
+				//代理方法，依次执行拦截器链
+				return new CglibMethodInvocation(o, target, method, objects, targetClass, chain, methodProxy).proceed();
+			} finally {
+				if (!targetSource.isStatic()) {
+					targetSource.releaseTarget(target);
+				}
 			}
-			return methodInvocation.proceed();
 		}
 	}
 
@@ -57,13 +152,14 @@ public class CglibAopProxy implements AopProxy {
 
 		private final MethodProxy methodProxy;
 
-		public CglibMethodInvocation(Object target, Method method, Object[] arguments, MethodProxy methodProxy) {
-			super(target, method, arguments);
+		public CglibMethodInvocation(Object proxy, Object target, Method method, Object[] arguments, Class<?> targetClass,
+									 List<org.aopalliance.intercept.MethodInterceptor> interceptors, MethodProxy methodProxy) {
+			super(proxy, target, method, arguments, targetClass, interceptors);
 			this.methodProxy = methodProxy;
 		}
 
 		@Override
-		public Object proceed() throws Throwable {
+		protected Object invokeJoinpoint() throws Throwable {
 			return this.methodProxy.invoke(this.target, this.arguments);
 		}
 	}
@@ -2,13 +2,20 @@ package org.springframework.aop.framework;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.springframework.aop.AdvisedSupport;
+import org.springframework.aop.TargetSource;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JDK动态代理
+ * 目标对象固定时绑定目标对象，并按方法缓存分派信息：没有匹配拦截器的方法直接通过绑定了目标对象的MethodHandle调用。
+ * 分派状态按代理配置的版本保存，配置变化（包括替换TargetSource）后重新读取目标对象并生成分派表
  *
  * @author derekyi
  * @date 2020/12/5
@@ -17,6 +24,11 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
 
 	private final AdvisedSupport advised;
 
+	/**
+	 * 当前配置版本的分派状态
+	 */
+	private volatile DispatchState dispatchState;
+
 	public JdkDynamicAopProxy(AdvisedSupport advised) {
 		this.advised = advised;
 	}
@@ -33,11 +45,92 @@ public class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
 
 	@Override
 	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-		if (advised.getMethodMatcher().matches(method, advised.getTargetSource().getTarget().getClass())) {
-			//代理方法
-			MethodInterceptor methodInterceptor = advised.getMethodInterceptor();
-			return methodInterceptor.invoke(new ReflectiveMethodInvocation(advised.getTargetSource().getTarget(), method, args));
+		DispatchState state = getDispatchState();
+		Object target = state.target;
+		if (target == null) {
+			//目标对象不固定，每次调用时获取，调用结束后归还
+			TargetSource targetSource = state.targetSource;
+			target = targetSource.getTarget();
+			try {
+				Class<?> targetClass = target.getClass();
+				List<MethodInterceptor> chain = advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+				if (chain.isEmpty()) {
+					return TargetMethodInvoker.invoke(method, target, args);
+				}
+				return new ReflectiveMethodInvocation(proxy, target, method, args, targetClass, chain).proceed();
+			} finally {
+				targetSource.releaseTarget(target);
+			}
+		}
+
+		MethodDispatch dispatch = state.dispatchTable.get(method);
+		if (dispatch == null) {
+			dispatch = createDispatch(method, target);
+			state.dispatchTable.put(method, dispatch);
+		}
+		if (dispatch.invoker != null) {
+			//没有匹配的拦截器时直接调用目标方法，不创建MethodInvocation
+			return dispatch.invoker.invokeExact(args);
+		}
+		//代理方法，依次执行拦截器链
+		return new ReflectiveMethodInvocation(proxy, target, method, args, target.getClass(), dispatch.chain).proceed();
+	}
+
+	private DispatchState getDispatchState() {
+		DispatchState state = this.dispatchState;
+		int adviceVersion = advised.getAdviceVersion();
+		if (state == null || state.adviceVersion != adviceVersion) {
+			//先读取版本再读取配置，配置在此期间变化时下次调用会重新生成
+			state = new DispatchState(adviceVersion, advised.getTargetSource());
+			this.dispatchState = state;
+		}
+		return state;
+	}
+
+	private MethodDispatch createDispatch(Method method, Object target) {
+		List<MethodInterceptor> chain = advised.getInterceptorsAndDynamicInterceptionAdvice(method, target.getClass());
+		MethodHandle invoker = chain.isEmpty() ? TargetMethodInvoker.bind(method, target) : null;
+		return new MethodDispatch(chain, invoker);
+	}
+
+	/**
+	 * 某个配置版本下的TargetSource、绑定的目标对象和方法分派表
+	 */
+	private static final class DispatchState {
+
+		private final int adviceVersion;
+
+		private final TargetSource targetSource;
+
+		/**
+		 * 绑定的目标对象，目标对象不固定时为null
+		 */
+		private final Object target;
+
+		/**
+		 * 方法 -> 分派信息
+		 */
+		private final Map<Method, MethodDispatch> dispatchTable = new ConcurrentHashMap<>(32);
+
+		private DispatchState(int adviceVersion, TargetSource targetSource) {
+			this.adviceVersion = adviceVersion;
+			this.targetSource = targetSource;
+			this.target = targetSource.isStatic() ? targetSource.getTarget() : null;
+		}
+	}
+
+	/**
+	 * 方法的拦截器链，没有拦截器时为绑定了目标对象的MethodHandle
+	 */
+	private static final class MethodDispatch {
+
+		private final List<MethodInterceptor> chain;
+
+		private final MethodHandle invoker;
+
+		private MethodDispatch(List<MethodInterceptor> chain, MethodHandle invoker) {
+			this.chain = chain;
+			this.invoker = invoker;
 		}
-		return method.invoke(advised.getTargetSource().getTarget(), args);
 	}
 }
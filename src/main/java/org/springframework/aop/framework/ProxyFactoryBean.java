@@ -0,0 +1,95 @@
+package org.springframework.aop.framework;
+
+import cn.hutool.core.util.StrUtil;
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.AdvisedSupport;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.TargetSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.FactoryBean;
+
+/**
+ * 使用指定的TargetSource和拦截器创建代理，用于池化、线程隔离、延迟初始化等需要自定义TargetSource的场景
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class ProxyFactoryBean implements FactoryBean<Object>, BeanFactoryAware {
+
+	private TargetSource targetSource;
+
+	/**
+	 * 逗号分隔的Advisor或Advice的bean名称，按顺序组成拦截器链
+	 */
+	private String interceptorNames;
+
+	private boolean proxyTargetClass = true;
+
+	private BeanFactory beanFactory;
+
+	private volatile Object singletonInstance;
+
+	public void setTargetSource(TargetSource targetSource) {
+		this.targetSource = targetSource;
+	}
+
+	public void setInterceptorNames(String interceptorNames) {
+		this.interceptorNames = interceptorNames;
+	}
+
+	public void setProxyTargetClass(boolean proxyTargetClass) {
+		this.proxyTargetClass = proxyTargetClass;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public Object getObject() throws Exception {
+		Object proxy = this.singletonInstance;
+		if (proxy == null) {
+			synchronized (this) {
+				if (this.singletonInstance == null) {
+					this.singletonInstance = createProxy();
+				}
+				proxy = this.singletonInstance;
+			}
+		}
+		return proxy;
+	}
+
+	private Object createProxy() {
+		if (targetSource == null) {
+			throw new BeansException("Property 'targetSource' is required");
+		}
+		AdvisedSupport advisedSupport = new AdvisedSupport();
+		advisedSupport.setTargetSource(targetSource);
+		advisedSupport.setProxyTargetClass(proxyTargetClass);
+		if (StrUtil.isNotBlank(interceptorNames)) {
+			for (String interceptorName : StrUtil.splitTrim(interceptorNames, ',')) {
+				advisedSupport.addAdvisor(toAdvisor(interceptorName, beanFactory.getBean(interceptorName)));
+			}
+		}
+		return new ProxyFactory(advisedSupport).getProxy();
+	}
+
+	private Advisor toAdvisor(String interceptorName, Object interceptor) {
+		if (interceptor instanceof Advisor) {
+			return (Advisor) interceptor;
+		}
+		if (interceptor instanceof Advice) {
+			//没有切点，应用到所有方法
+			return () -> (Advice) interceptor;
+		}
+		throw new BeansException("Bean '" + interceptorName + "' is neither an Advisor nor an Advice");
+	}
+
+	@Override
+	public boolean isSingleton() {
+		return true;
+	}
+}
@@ -1,31 +1,68 @@
 package org.springframework.aop.framework;
 
+import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
 
 /**
+ * 按下标依次调用拦截器链中的拦截器，最后调用目标方法
+ *
  * @author derekyi
  * @date 2020/12/6
  */
 public class ReflectiveMethodInvocation implements MethodInvocation {
 
+	protected final Object proxy;
+
 	protected final Object target;
 
 	protected final Method method;
 
 	protected final Object[] arguments;
 
+	protected final Class<?> targetClass;
+
+	protected final List<MethodInterceptor> interceptors;
+
+	/**
+	 * 当前执行到的拦截器下标
+	 */
+	private int currentInterceptorIndex = -1;
+
 	public ReflectiveMethodInvocation(Object target, Method method, Object[] arguments) {
+		this(null, target, method, arguments, target.getClass(), Collections.emptyList());
+	}
+
+	public ReflectiveMethodInvocation(Object proxy, Object target, Method method, Object[] arguments,
+									  Class<?> targetClass, List<MethodInterceptor> interceptors) {
+		this.proxy = proxy;
 		this.target = target;
 		this.method = method;
 		this.arguments = arguments;
+		this.targetClass = targetClass;
+		this.interceptors = interceptors;
 	}
 
 	@Override
 	public Object proceed() throws Throwable {
-		return method.invoke(target, arguments);
+		if (currentInterceptorIndex == interceptors.size() - 1) {
+			return invokeJoinpoint();
+		}
+		return interceptors.get(++currentInterceptorIndex).invoke(this);
+	}
+
+	/**
+	 * 调用目标方法，抛出目标方法的原始异常
+	 *
+	 * @return
+	 * @throws Throwable
+	 */
+	protected Object invokeJoinpoint() throws Throwable {
+		return TargetMethodInvoker.invoke(method, target, arguments);
 	}
 
 	@Override
@@ -47,4 +84,12 @@ public class ReflectiveMethodInvocation implements MethodInvocation {
 	public AccessibleObject getStaticPart() {
 		return method;
 	}
+
+	public Object getProxy() {
+		return proxy;
+	}
+
+	public Class<?> getTargetClass() {
+		return targetClass;
+	}
 }
@@ -0,0 +1,88 @@
+package org.springframework.aop.framework;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 通过MethodHandle调用目标方法，每个方法只解析一次。
+ * 调用时不再经过Method.invoke的访问检查，目标方法的异常原样抛出
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+final class TargetMethodInvoker {
+
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	private static final MethodHandle REFLECTIVE_INVOKER;
+
+	static {
+		try {
+			REFLECTIVE_INVOKER = MethodHandles.lookup().findStatic(TargetMethodInvoker.class, "invokeReflectively",
+					MethodType.methodType(Object.class, Method.class, Object.class, Object[].class));
+		} catch (ReflectiveOperationException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	//声明方法的类 -> 方法 -> (Object target, Object[] args)Object形式的MethodHandle
+	//缓存通过ClassValue挂在类上，类及其ClassLoader不再使用时随之回收
+	private static final ClassValue<Map<Method, MethodHandle>> invokerCache = new ClassValue<Map<Method, MethodHandle>>() {
+		@Override
+		protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>(16);
+		}
+	};
+
+	private TargetMethodInvoker() {
+	}
+
+	static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+		Map<Method, MethodHandle> invokers = invokerCache.get(method.getDeclaringClass());
+		MethodHandle invoker = invokers.get(method);
+		if (invoker == null) {
+			invoker = invokers.computeIfAbsent(method, TargetMethodInvoker::createInvoker);
+		}
+		return invoker.invokeExact(target, args);
+	}
+
+	/**
+	 * 绑定目标对象的(Object[] args)Object形式的MethodHandle
+	 *
+	 * @param method
+	 * @param target
+	 * @return
+	 */
+	static MethodHandle bind(Method method, Object target) {
+		Map<Method, MethodHandle> invokers = invokerCache.get(method.getDeclaringClass());
+		MethodHandle invoker = invokers.get(method);
+		if (invoker == null) {
+			invoker = invokers.computeIfAbsent(method, TargetMethodInvoker::createInvoker);
+		}
+		return MethodHandles.insertArguments(invoker, 0, target);
+	}
+
+	private static MethodHandle createInvoker(Method method) {
+		try {
+			method.setAccessible(true);
+			MethodHandle handle = MethodHandles.lookup().unreflect(method);
+			return handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+		} catch (RuntimeException | IllegalAccessException ex) {
+			//无法访问时（如JDK内部的类）使用反射调用
+			return REFLECTIVE_INVOKER.bindTo(method);
+		}
+	}
+
+	private static Object invokeReflectively(Method method, Object target, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException ex) {
+			throw ex.getTargetException();
+		}
+	}
+}
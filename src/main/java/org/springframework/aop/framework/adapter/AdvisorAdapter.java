@@ -0,0 +1,18 @@
+package org.springframework.aop.framework.adapter;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+
+/**
+ * 把某类Advice适配为MethodInterceptor，使其可以放入拦截器链
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface AdvisorAdapter {
+
+	boolean supportsAdvice(Advice advice);
+
+	MethodInterceptor getInterceptor(Advisor advisor);
+}
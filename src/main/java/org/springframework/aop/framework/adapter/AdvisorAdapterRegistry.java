@@ -0,0 +1,24 @@
+package org.springframework.aop.framework.adapter;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+
+/**
+ * AdvisorAdapter的注册表
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface AdvisorAdapterRegistry {
+
+	/**
+	 * 获取Advisor对应的拦截器
+	 *
+	 * @param advisor
+	 * @return
+	 * @throws UnknownAdviceTypeException 没有支持该Advice的AdvisorAdapter
+	 */
+	MethodInterceptor[] getInterceptors(Advisor advisor) throws UnknownAdviceTypeException;
+
+	void registerAdvisorAdapter(AdvisorAdapter adapter);
+}
@@ -0,0 +1,23 @@
+package org.springframework.aop.framework.adapter;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.AfterReturningAdvice;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+class AfterReturningAdviceAdapter implements AdvisorAdapter {
+
+	@Override
+	public boolean supportsAdvice(Advice advice) {
+		return advice instanceof AfterReturningAdvice;
+	}
+
+	@Override
+	public MethodInterceptor getInterceptor(Advisor advisor) {
+		return new AfterReturningAdviceInterceptor((AfterReturningAdvice) advisor.getAdvice());
+	}
+}
@@ -0,0 +1,26 @@
+package org.springframework.aop.framework.adapter;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.AfterReturningAdvice;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class AfterReturningAdviceInterceptor implements MethodInterceptor {
+
+	private final AfterReturningAdvice advice;
+
+	public AfterReturningAdviceInterceptor(AfterReturningAdvice advice) {
+		this.advice = advice;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Object returnValue = invocation.proceed();
+		//被代理方法正常返回后，执行after returning advice操作
+		this.advice.afterReturning(returnValue, invocation.getMethod(), invocation.getArguments(), invocation.getThis());
+		return returnValue;
+	}
+}
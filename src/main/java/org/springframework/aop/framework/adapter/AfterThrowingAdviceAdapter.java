@@ -0,0 +1,23 @@
+package org.springframework.aop.framework.adapter;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.AfterThrowingAdvice;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+class AfterThrowingAdviceAdapter implements AdvisorAdapter {
+
+	@Override
+	public boolean supportsAdvice(Advice advice) {
+		return advice instanceof AfterThrowingAdvice;
+	}
+
+	@Override
+	public MethodInterceptor getInterceptor(Advisor advisor) {
+		return new AfterThrowingAdviceInterceptor((AfterThrowingAdvice) advisor.getAdvice());
+	}
+}
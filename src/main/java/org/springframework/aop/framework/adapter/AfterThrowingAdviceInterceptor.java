@@ -0,0 +1,29 @@
+package org.springframework.aop.framework.adapter;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.AfterThrowingAdvice;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class AfterThrowingAdviceInterceptor implements MethodInterceptor {
+
+	private final AfterThrowingAdvice advice;
+
+	public AfterThrowingAdviceInterceptor(AfterThrowingAdvice advice) {
+		this.advice = advice;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		try {
+			return invocation.proceed();
+		} catch (Throwable ex) {
+			//被代理方法抛出异常后，执行after throwing advice操作，再抛出原异常
+			this.advice.afterThrowing(invocation.getMethod(), invocation.getArguments(), invocation.getThis(), ex);
+			throw ex;
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package org.springframework.aop.framework.adapter;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.AroundAdvice;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class AroundAdviceInterceptor implements MethodInterceptor {
+
+	private final AroundAdvice advice;
+
+	public AroundAdviceInterceptor(AroundAdvice advice) {
+		this.advice = advice;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		return this.advice.around(invocation);
+	}
+}
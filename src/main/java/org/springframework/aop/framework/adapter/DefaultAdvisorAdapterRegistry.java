@@ -0,0 +1,50 @@
+package org.springframework.aop.framework.adapter;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 默认注册了MethodBeforeAdvice、AfterReturningAdvice、AfterThrowingAdvice、AroundAdvice的适配器，MethodInterceptor类型的Advice直接使用
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class DefaultAdvisorAdapterRegistry implements AdvisorAdapterRegistry {
+
+	private final List<AdvisorAdapter> adapters = new CopyOnWriteArrayList<>();
+
+	public DefaultAdvisorAdapterRegistry() {
+		registerAdvisorAdapter(new MethodBeforeAdviceAdapter());
+		registerAdvisorAdapter(new AfterReturningAdviceAdapter());
+		registerAdvisorAdapter(new AfterThrowingAdviceAdapter());
+		registerAdvisorAdapter(new AroundAdviceAdapter());
+	}
+
+	@Override
+	public MethodInterceptor[] getInterceptors(Advisor advisor) throws UnknownAdviceTypeException {
+		List<MethodInterceptor> interceptors = new ArrayList<>(2);
+		Advice advice = advisor.getAdvice();
+		if (advice instanceof MethodInterceptor) {
+			interceptors.add((MethodInterceptor) advice);
+		}
+		for (AdvisorAdapter adapter : adapters) {
+			if (adapter.supportsAdvice(advice)) {
+				interceptors.add(adapter.getInterceptor(advisor));
+			}
+		}
+		if (interceptors.isEmpty()) {
+			throw new UnknownAdviceTypeException(advice);
+		}
+		return interceptors.toArray(new MethodInterceptor[0]);
+	}
+
+	@Override
+	public void registerAdvisorAdapter(AdvisorAdapter adapter) {
+		adapters.add(adapter);
+	}
+}
@@ -0,0 +1,19 @@
+package org.springframework.aop.framework.adapter;
+
+/**
+ * 全局共享的AdvisorAdapterRegistry
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public final class GlobalAdvisorAdapterRegistry {
+
+	private static final AdvisorAdapterRegistry instance = new DefaultAdvisorAdapterRegistry();
+
+	private GlobalAdvisorAdapterRegistry() {
+	}
+
+	public static AdvisorAdapterRegistry getInstance() {
+		return instance;
+	}
+}
@@ -0,0 +1,14 @@
+package org.springframework.aop.framework.adapter;
+
+/**
+ * 没有AdvisorAdapter支持的Advice类型
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class UnknownAdviceTypeException extends IllegalArgumentException {
+
+	public UnknownAdviceTypeException(Object advice) {
+		super("Advice object [" + advice + "] is neither a supported subinterface of [org.aopalliance.aop.Advice] nor an [org.springframework.aop.Advisor]");
+	}
+}
@@ -2,20 +2,21 @@ package org.springframework.aop.framework.autoproxy;
 
 import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.aop.Advice;
-import org.aopalliance.intercept.MethodInterceptor;
 import org.springframework.aop.*;
-import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.target.SingletonTargetSource;
 import org.springframework.beans.BeansException;
-import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author derekyi
@@ -26,7 +27,12 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
 
 	private DefaultListableBeanFactory beanFactory;
 
-	private Set<Object> earlyProxyReferences = new HashSet<>();
+	private final Set<Object> earlyProxyReferences = ConcurrentHashMap.newKeySet();
+
+	private volatile List<Advisor> cachedCandidateAdvisors;
+
+	//bean的类 -> 可以应用的Advisor
+	private final Map<Class<?>, List<Advisor>> eligibleAdvisorsCache = new ConcurrentHashMap<>();
 
 	@Override
 	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
@@ -49,28 +55,65 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
 			return bean;
 		}
 
-		Collection<AspectJExpressionPointcutAdvisor> advisors = beanFactory.getBeansOfType(AspectJExpressionPointcutAdvisor.class).values();
+		List<Advisor> advisors = findEligibleAdvisors(bean.getClass());
+		if (advisors.isEmpty()) {
+			return bean;
+		}
 		try {
-			for (AspectJExpressionPointcutAdvisor advisor : advisors) {
-				ClassFilter classFilter = advisor.getPointcut().getClassFilter();
-				if (classFilter.matches(bean.getClass())) {
-					log.info("【创建{}的代理类】【{}】开始，值为{}", beanName,beanName, bean.getClass());
-					AdvisedSupport advisedSupport = new AdvisedSupport();
-					TargetSource targetSource = new TargetSource(bean);
-
-					advisedSupport.setTargetSource(targetSource);
-					advisedSupport.setMethodInterceptor((MethodInterceptor) advisor.getAdvice());
-					advisedSupport.setMethodMatcher(advisor.getPointcut().getMethodMatcher());
-					Object proxy = new ProxyFactory(advisedSupport).getProxy();
-					log.info("【创建{}的代理类】【{}】结束，值为{}", beanName, beanName,proxy.getClass());
-					//返回代理对象
-					return proxy;
-				}
-			}
+			log.info("【创建{}的代理类】【{}】开始，值为{}，Advisor数量{}", beanName, beanName, bean.getClass(), advisors.size());
+			AdvisedSupport advisedSupport = new AdvisedSupport();
+			TargetSource targetSource = new SingletonTargetSource(bean);
+
+			advisedSupport.setTargetSource(targetSource);
+			//所有匹配的Advisor放在同一个代理的拦截器链中，不再嵌套代理
+			advisedSupport.addAdvisors(advisors);
+			Object proxy = new ProxyFactory(advisedSupport).getProxy();
+			log.info("【创建{}的代理类】【{}】结束，值为{}", beanName, beanName, proxy.getClass());
+			//返回代理对象
+			return proxy;
 		} catch (Exception ex) {
 			throw new BeansException("Error create proxy bean for: " + beanName, ex);
 		}
-		return bean;
+	}
+
+	/**
+	 * 查找可以应用到该类的Advisor，按注册顺序。配置冻结后按类缓存结果
+	 *
+	 * @param beanClass
+	 * @return
+	 */
+	protected List<Advisor> findEligibleAdvisors(Class<?> beanClass) {
+		List<Advisor> eligibleAdvisors = eligibleAdvisorsCache.get(beanClass);
+		if (eligibleAdvisors != null) {
+			return eligibleAdvisors;
+		}
+		boolean cacheable = beanFactory.isConfigurationFrozen();
+		eligibleAdvisors = AopUtils.findAdvisorsThatCanApply(findCandidateAdvisors(cacheable), beanClass);
+		if (cacheable) {
+			eligibleAdvisorsCache.put(beanClass, eligibleAdvisors);
+		}
+		return eligibleAdvisors;
+	}
+
+	/**
+	 * 查找所有Advisor。配置冻结后不会再有新的Advisor，只查找一次
+	 *
+	 * @param cacheable
+	 * @return
+	 */
+	protected List<Advisor> findCandidateAdvisors(boolean cacheable) {
+		List<Advisor> advisors = this.cachedCandidateAdvisors;
+		if (advisors != null) {
+			return advisors;
+		}
+		advisors = new ArrayList<>();
+		for (String advisorName : beanFactory.getBeanNamesForType(Advisor.class)) {
+			advisors.add(beanFactory.getBean(advisorName, Advisor.class));
+		}
+		if (cacheable) {
+			this.cachedCandidateAdvisors = advisors;
+		}
+		return advisors;
 	}
 
 	private boolean isInfrastructureClass(Class<?> beanClass) {
@@ -83,24 +126,4 @@ public class DefaultAdvisorAutoProxyCreator implements InstantiationAwareBeanPos
 	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
 		this.beanFactory = (DefaultListableBeanFactory) beanFactory;
 	}
-
-	@Override
-	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
-		return null;
-	}
-
-	@Override
-	public boolean postProcessAfterInstantiation(Object bean, String beanName) throws BeansException {
-		return true;
-	}
-
-	@Override
-	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
-		return bean;
-	}
-
-	@Override
-	public PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName) throws BeansException {
-		return pvs;
-	}
 }
@@ -0,0 +1,129 @@
+package org.springframework.aop.support;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * AOP工具方法
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public abstract class AopUtils {
+
+	/**
+	 * 切点能否应用到该类：类匹配，并且至少有一个方法匹配。
+	 * 类匹配但没有方法匹配时不需要代理，避免创建对每个方法都不拦截的代理
+	 *
+	 * @param pointcut
+	 * @param targetClass
+	 * @return
+	 */
+	public static boolean canApply(Pointcut pointcut, Class<?> targetClass) {
+		if (!pointcut.getClassFilter().matches(targetClass)) {
+			return false;
+		}
+		MethodMatcher methodMatcher = pointcut.getMethodMatcher();
+		for (Class<?> clazz : getClassesToIntrospect(targetClass)) {
+			for (Method method : clazz.getDeclaredMethods()) {
+				if (Modifier.isStatic(method.getModifiers()) || method.isSynthetic()) {
+					continue;
+				}
+				if (methodMatcher.matches(method, targetClass)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	public static boolean canApply(Advisor advisor, Class<?> targetClass) {
+		if (advisor instanceof PointcutAdvisor) {
+			return canApply(((PointcutAdvisor) advisor).getPointcut(), targetClass);
+		}
+		//没有切点的Advisor应用到所有类
+		return true;
+	}
+
+	/**
+	 * 筛选可以应用到该类的Advisor，保持原来的顺序
+	 *
+	 * @param candidateAdvisors
+	 * @param targetClass
+	 * @return
+	 */
+	public static List<Advisor> findAdvisorsThatCanApply(List<Advisor> candidateAdvisors, Class<?> targetClass) {
+		if (candidateAdvisors.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Advisor> eligibleAdvisors = new ArrayList<>();
+		for (Advisor candidate : candidateAdvisors) {
+			if (canApply(candidate, targetClass)) {
+				eligibleAdvisors.add(candidate);
+			}
+		}
+		return eligibleAdvisors.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(eligibleAdvisors);
+	}
+
+	/**
+	 * 目标类中对应的方法，如接口方法在实现类中的实现，找不到时返回原方法
+	 *
+	 * @param method
+	 * @param targetClass
+	 * @return
+	 */
+	public static Method getMostSpecificMethod(Method method, Class<?> targetClass) {
+		if (targetClass == null || targetClass == method.getDeclaringClass() || Modifier.isPrivate(method.getModifiers())) {
+			return method;
+		}
+		try {
+			return targetClass.getMethod(method.getName(), method.getParameterTypes());
+		} catch (NoSuchMethodException ex) {
+			return method;
+		}
+	}
+
+	/**
+	 * 类及其父类实现的所有接口，包括接口继承的接口
+	 *
+	 * @param clazz
+	 * @return
+	 */
+	public static Class<?>[] getAllInterfaces(Class<?> clazz) {
+		Set<Class<?>> interfaces = new LinkedHashSet<>();
+		for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+			collectInterfaces(current, interfaces);
+		}
+		return interfaces.toArray(new Class<?>[0]);
+	}
+
+	/**
+	 * 类及其父类（不包括Object）、实现的所有接口
+	 */
+	private static Set<Class<?>> getClassesToIntrospect(Class<?> targetClass) {
+		Set<Class<?>> classes = new LinkedHashSet<>();
+		for (Class<?> clazz = targetClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+			classes.add(clazz);
+			collectInterfaces(clazz, classes);
+		}
+		return classes;
+	}
+
+	private static void collectInterfaces(Class<?> clazz, Set<Class<?>> classes) {
+		for (Class<?> ifc : clazz.getInterfaces()) {
+			if (classes.add(ifc)) {
+				collectInterfaces(ifc, classes);
+			}
+		}
+	}
+}
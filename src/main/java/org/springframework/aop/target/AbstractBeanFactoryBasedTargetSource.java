@@ -0,0 +1,78 @@
+package org.springframework.aop.target;
+
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+/**
+ * 从BeanFactory中获取目标对象，目标对象的类型从bean定义中读取，创建代理时不需要实例化目标对象
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public abstract class AbstractBeanFactoryBasedTargetSource implements TargetSource, BeanFactoryAware {
+
+	private String targetBeanName;
+
+	private DefaultListableBeanFactory beanFactory;
+
+	private Class<?> targetType;
+
+	private Class<?>[] targetInterfaces;
+
+	public void setTargetBeanName(String targetBeanName) {
+		this.targetBeanName = targetBeanName;
+	}
+
+	public String getTargetBeanName() {
+		return targetBeanName;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		if (targetBeanName == null) {
+			throw new BeansException("Property 'targetBeanName' is required");
+		}
+		this.beanFactory = (DefaultListableBeanFactory) beanFactory;
+		BeanDefinition beanDefinition = this.beanFactory.getBeanDefinition(targetBeanName);
+		this.targetType = beanDefinition.getBeanClass();
+		this.targetInterfaces = AopUtils.getAllInterfaces(targetType);
+		checkTargetBeanDefinition(beanDefinition);
+	}
+
+	/**
+	 * 检查目标bean的定义是否符合要求
+	 *
+	 * @param beanDefinition
+	 * @throws BeansException
+	 */
+	protected void checkTargetBeanDefinition(BeanDefinition beanDefinition) throws BeansException {
+	}
+
+	public DefaultListableBeanFactory getBeanFactory() {
+		return beanFactory;
+	}
+
+	@Override
+	public Class<?>[] getTargetClass() {
+		return targetInterfaces;
+	}
+
+	@Override
+	public Class<?> getTargetType() {
+		return targetType;
+	}
+
+	@Override
+	public boolean isStatic() {
+		return false;
+	}
+
+	@Override
+	public void releaseTarget(Object target) {
+	}
+}
@@ -0,0 +1,42 @@
+package org.springframework.aop.target;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+
+/**
+ * 目标bean必须是prototype作用域，由子类决定何时创建新的实例
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+@Slf4j
+public abstract class AbstractPrototypeBasedTargetSource extends AbstractBeanFactoryBasedTargetSource {
+
+	@Override
+	protected void checkTargetBeanDefinition(BeanDefinition beanDefinition) throws BeansException {
+		if (!beanDefinition.isPrototype()) {
+			throw new BeansException("Target bean '" + getTargetBeanName() + "' must be of scope prototype");
+		}
+	}
+
+	protected Object newPrototypeInstance() throws BeansException {
+		return getBeanFactory().getBean(getTargetBeanName());
+	}
+
+	/**
+	 * prototype作用域的bean不由容器销毁，需要时在此处销毁
+	 *
+	 * @param target
+	 */
+	protected void destroyPrototypeInstance(Object target) {
+		if (target instanceof DisposableBean) {
+			try {
+				((DisposableBean) target).destroy();
+			} catch (Exception ex) {
+				log.warn("销毁{}的实例出错", getTargetBeanName(), ex);
+			}
+		}
+	}
+}
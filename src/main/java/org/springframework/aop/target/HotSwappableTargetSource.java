@@ -0,0 +1,87 @@
+package org.springframework.aop.target;
+
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.support.AopUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 可以在运行时替换目标对象，替换是原子的。
+ * 代理每次调用时读取当前的目标对象，调用过程中不加锁：已开始的调用在旧目标对象上执行完，之后的调用使用新目标对象。
+ * 新目标对象必须是初始目标对象的类型（或其子类），以便JDK动态代理和CGLIB代理都能继续调用
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class HotSwappableTargetSource implements TargetSource {
+
+	private final AtomicReference<Object> target;
+
+	private final Class<?> targetType;
+
+	private final Class<?>[] targetInterfaces;
+
+	private final AtomicLong swapCount = new AtomicLong();
+
+	public HotSwappableTargetSource(Object initialTarget) {
+		if (initialTarget == null) {
+			throw new IllegalArgumentException("Target object must not be null");
+		}
+		this.target = new AtomicReference<>(initialTarget);
+		this.targetType = initialTarget.getClass();
+		this.targetInterfaces = AopUtils.getAllInterfaces(targetType);
+	}
+
+	@Override
+	public Class<?>[] getTargetClass() {
+		return targetInterfaces;
+	}
+
+	@Override
+	public Class<?> getTargetType() {
+		return targetType;
+	}
+
+	@Override
+	public boolean isStatic() {
+		return false;
+	}
+
+	@Override
+	public Object getTarget() {
+		return target.get();
+	}
+
+	@Override
+	public void releaseTarget(Object target) {
+	}
+
+	/**
+	 * 替换目标对象，旧目标对象由调用方负责销毁，可能还有调用在旧目标对象上执行
+	 *
+	 * @param newTarget
+	 * @return 旧目标对象
+	 */
+	public Object swap(Object newTarget) {
+		if (newTarget == null) {
+			throw new IllegalArgumentException("Target object must not be null");
+		}
+		if (!targetType.isInstance(newTarget)) {
+			throw new IllegalArgumentException("Target object of type [" + newTarget.getClass().getName()
+					+ "] is not an instance of [" + targetType.getName() + "]");
+		}
+		Object oldTarget = target.getAndSet(newTarget);
+		swapCount.incrementAndGet();
+		return oldTarget;
+	}
+
+	/**
+	 * 目标对象被替换的次数
+	 *
+	 * @return
+	 */
+	public long getSwapCount() {
+		return swapCount.get();
+	}
+}
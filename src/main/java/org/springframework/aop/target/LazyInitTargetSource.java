@@ -0,0 +1,35 @@
+package org.springframework.aop.target;
+
+/**
+ * 第一次调用时才从BeanFactory中获取目标对象，之后一直使用该对象
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class LazyInitTargetSource extends AbstractBeanFactoryBasedTargetSource {
+
+	private volatile Object target;
+
+	@Override
+	public Object getTarget() {
+		Object current = this.target;
+		if (current == null) {
+			synchronized (this) {
+				if (this.target == null) {
+					this.target = getBeanFactory().getBean(getTargetBeanName());
+				}
+				current = this.target;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * 目标对象是否已获取
+	 *
+	 * @return
+	 */
+	public boolean isInitialized() {
+		return target != null;
+	}
+}
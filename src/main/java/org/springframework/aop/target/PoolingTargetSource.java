@@ -0,0 +1,138 @@
+package org.springframework.aop.target;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对象池，每次调用时借出一个prototype实例，调用结束后归还。
+ * 实例按需创建，最多maxSize个；都已借出时等待maxWaitMillis，超时抛出异常，小于0时一直等待。
+ * 第一次借出实例后不能再修改maxSize
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class PoolingTargetSource extends AbstractPrototypeBasedTargetSource implements DisposableBean {
+
+	public static final int DEFAULT_MAX_SIZE = 8;
+
+	private int maxSize = DEFAULT_MAX_SIZE;
+
+	private long maxWaitMillis = -1;
+
+	/**
+	 * 空闲的实例，后归还的先借出
+	 */
+	private final ConcurrentLinkedDeque<Object> idleObjects = new ConcurrentLinkedDeque<>();
+
+	private volatile Semaphore permits;
+
+	private volatile boolean closed;
+
+	public synchronized void setMaxSize(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Max size must be positive");
+		}
+		if (this.permits != null) {
+			//已借出的实例归还到原来的Semaphore，替换后会超出maxSize
+			throw new IllegalStateException("Cannot change max size after the pool has been used");
+		}
+		this.maxSize = maxSize;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public void setMaxWaitMillis(long maxWaitMillis) {
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	@Override
+	public Object getTarget() {
+		if (closed) {
+			throw new BeansException("Target pool for '" + getTargetBeanName() + "' is closed");
+		}
+		Semaphore semaphore = getPermits();
+		acquire(semaphore);
+		try {
+			Object target = idleObjects.pollFirst();
+			return target != null ? target : newPrototypeInstance();
+		} catch (RuntimeException ex) {
+			semaphore.release();
+			throw ex;
+		}
+	}
+
+	private void acquire(Semaphore semaphore) {
+		try {
+			if (maxWaitMillis < 0) {
+				semaphore.acquire();
+			} else if (!semaphore.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+				throw new BeansException("Timed out after " + maxWaitMillis + "ms waiting for a pooled instance of '" + getTargetBeanName() + "'");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new BeansException("Interrupted while waiting for a pooled instance of '" + getTargetBeanName() + "'", ex);
+		}
+	}
+
+	@Override
+	public void releaseTarget(Object target) {
+		if (closed) {
+			destroyPrototypeInstance(target);
+		} else {
+			idleObjects.offerFirst(target);
+		}
+		getPermits().release();
+	}
+
+	/**
+	 * 已借出的实例数
+	 *
+	 * @return
+	 */
+	public int getActiveCount() {
+		Semaphore semaphore = this.permits;
+		return semaphore != null ? maxSize - semaphore.availablePermits() : 0;
+	}
+
+	/**
+	 * 空闲的实例数
+	 *
+	 * @return
+	 */
+	public int getIdleCount() {
+		return idleObjects.size();
+	}
+
+	private Semaphore getPermits() {
+		Semaphore semaphore = this.permits;
+		if (semaphore == null) {
+			synchronized (this) {
+				if (this.permits == null) {
+					this.permits = new Semaphore(maxSize);
+				}
+				semaphore = this.permits;
+			}
+		}
+		return semaphore;
+	}
+
+	/**
+	 * 销毁空闲的实例，借出的实例归还时销毁
+	 *
+	 * @throws Exception
+	 */
+	@Override
+	public void destroy() throws Exception {
+		closed = true;
+		Object target;
+		while ((target = idleObjects.pollFirst()) != null) {
+			destroyPrototypeInstance(target);
+		}
+	}
+}
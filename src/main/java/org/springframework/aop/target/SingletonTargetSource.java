@@ -0,0 +1,49 @@
+package org.springframework.aop.target;
+
+import org.springframework.aop.TargetSource;
+import org.springframework.aop.support.AopUtils;
+
+/**
+ * 固定的目标对象
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class SingletonTargetSource implements TargetSource {
+
+	private final Object target;
+
+	/**
+	 * 目标对象实现的接口，创建时读取一次
+	 */
+	private final Class<?>[] targetInterfaces;
+
+	public SingletonTargetSource(Object target) {
+		this.target = target;
+		this.targetInterfaces = AopUtils.getAllInterfaces(target.getClass());
+	}
+
+	@Override
+	public Class<?>[] getTargetClass() {
+		return this.targetInterfaces;
+	}
+
+	@Override
+	public Class<?> getTargetType() {
+		return this.target.getClass();
+	}
+
+	@Override
+	public boolean isStatic() {
+		return true;
+	}
+
+	@Override
+	public Object getTarget() {
+		return this.target;
+	}
+
+	@Override
+	public void releaseTarget(Object target) {
+	}
+}
@@ -0,0 +1,89 @@
+package org.springframework.aop.target;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 每个线程使用一个prototype实例，线程第一次调用时创建。
+ * 销毁后其他线程的ThreadLocal中仍保留已销毁的实例，因此不再返回实例
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class ThreadLocalTargetSource extends AbstractPrototypeBasedTargetSource implements DisposableBean {
+
+	private final ThreadLocal<Object> targetInThread = new ThreadLocal<>();
+
+	/**
+	 * 所有线程的实例，销毁时使用
+	 */
+	private final Set<Object> targetSet = ConcurrentHashMap.newKeySet();
+
+	private final LongAdder invocationCount = new LongAdder();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private volatile boolean closed;
+
+	@Override
+	public Object getTarget() {
+		if (closed) {
+			throw new BeansException("Thread-local target source for '" + getTargetBeanName() + "' is closed");
+		}
+		invocationCount.increment();
+		Object target = targetInThread.get();
+		if (target == null) {
+			target = newPrototypeInstance();
+			targetSet.add(target);
+			if (closed) {
+				//创建期间被销毁，销毁时没有遍历到该实例
+				if (targetSet.remove(target)) {
+					destroyPrototypeInstance(target);
+				}
+				throw new BeansException("Thread-local target source for '" + getTargetBeanName() + "' is closed");
+			}
+			targetInThread.set(target);
+		} else {
+			hitCount.increment();
+		}
+		return target;
+	}
+
+	/**
+	 * 已创建的实例数
+	 *
+	 * @return
+	 */
+	public int getObjectCount() {
+		return targetSet.size();
+	}
+
+	public long getInvocationCount() {
+		return invocationCount.sum();
+	}
+
+	/**
+	 * 当前线程已有实例的调用次数
+	 *
+	 * @return
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	@Override
+	public void destroy() throws Exception {
+		closed = true;
+		for (Object target : targetSet) {
+			if (targetSet.remove(target)) {
+				destroyPrototypeInstance(target);
+			}
+		}
+		//其他线程中的ThreadLocal值无法清除，实例销毁后随线程回收
+		targetInThread.remove();
+	}
+}
@@ -0,0 +1,105 @@
+package org.springframework.beans;
+
+import cn.hutool.core.util.StrUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存类的属性访问器，每个(类, 属性名)只解析一次。
+ * 优先使用setter方法，没有setter方法时直接写字段
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public final class CachedIntrospectionResults {
+
+	//通过ClassValue挂在类上，类及其ClassLoader不再使用时随之回收
+	private static final ClassValue<CachedIntrospectionResults> classCache = new ClassValue<CachedIntrospectionResults>() {
+		@Override
+		protected CachedIntrospectionResults computeValue(Class<?> type) {
+			return new CachedIntrospectionResults(type);
+		}
+	};
+
+	private final Class<?> beanClass;
+
+	private final Map<String, PropertyAccessor> propertyAccessorCache = new ConcurrentHashMap<>();
+
+	private CachedIntrospectionResults(Class<?> beanClass) {
+		this.beanClass = beanClass;
+	}
+
+	public static CachedIntrospectionResults forClass(Class<?> beanClass) {
+		return classCache.get(beanClass);
+	}
+
+	/**
+	 * 获取属性访问器
+	 *
+	 * @param propertyName
+	 * @return
+	 * @throws BeansException 既没有setter方法也没有同名字段
+	 */
+	public PropertyAccessor getPropertyAccessor(String propertyName) throws BeansException {
+		PropertyAccessor accessor = propertyAccessorCache.get(propertyName);
+		if (accessor == null) {
+			accessor = propertyAccessorCache.computeIfAbsent(propertyName, this::resolvePropertyAccessor);
+		}
+		return accessor;
+	}
+
+	private PropertyAccessor resolvePropertyAccessor(String propertyName) {
+		Field field = findField(propertyName);
+		Method writeMethod = findWriteMethod(propertyName, field != null ? field.getType() : null);
+		if (writeMethod != null) {
+			try {
+				return PropertyAccessor.forWriteMethod(propertyName, writeMethod);
+			} catch (IllegalAccessException | RuntimeException e) {
+				//setter方法不可访问时退回到写字段
+			}
+		}
+		if (field == null) {
+			throw new BeansException("No property '" + propertyName + "' found on " + beanClass.getName());
+		}
+		return PropertyAccessor.forField(field);
+	}
+
+	private Field findField(String propertyName) {
+		for (Class<?> clazz = beanClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+			for (Field field : clazz.getDeclaredFields()) {
+				if (field.getName().equals(propertyName) && !Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+					return field;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 查找public的setter方法，有多个重载时优先选择参数类型与字段类型一致的
+	 */
+	private Method findWriteMethod(String propertyName, Class<?> fieldType) {
+		String methodName = "set" + StrUtil.upperFirst(propertyName);
+		Method candidate = null;
+		for (Method method : beanClass.getMethods()) {
+			if (method.getName().equals(methodName) && method.getParameterCount() == 1
+					&& !Modifier.isStatic(method.getModifiers())) {
+				if (fieldType == null || method.getParameterTypes()[0] == fieldType) {
+					return method;
+				}
+				if (candidate == null) {
+					candidate = method;
+				}
+			}
+		}
+		return candidate;
+	}
+
+	public Class<?> getBeanClass() {
+		return beanClass;
+	}
+}
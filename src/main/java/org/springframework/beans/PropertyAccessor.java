@@ -0,0 +1,92 @@
+package org.springframework.beans;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ClassUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * 设置某个类的某个属性，解析一次之后通过MethodHandle调用setter方法或直接写字段，不再反射查找
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public final class PropertyAccessor {
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final String name;
+
+	private final Class<?> propertyType;
+
+	//(Object bean, Object value)void
+	private final MethodHandle setter;
+
+	private PropertyAccessor(String name, Class<?> propertyType, MethodHandle setter) {
+		this.name = name;
+		this.propertyType = propertyType;
+		this.setter = setter.asType(SETTER_TYPE);
+	}
+
+	/**
+	 * 通过setter方法设置属性
+	 *
+	 * @param name
+	 * @param writeMethod
+	 * @return
+	 * @throws IllegalAccessException
+	 */
+	public static PropertyAccessor forWriteMethod(String name, Method writeMethod) throws IllegalAccessException {
+		writeMethod.setAccessible(true);
+		return new PropertyAccessor(name, writeMethod.getParameterTypes()[0], MethodHandles.lookup().unreflect(writeMethod));
+	}
+
+	/**
+	 * 直接写字段
+	 *
+	 * @param field
+	 * @return
+	 * @throws BeansException
+	 */
+	public static PropertyAccessor forField(Field field) throws BeansException {
+		try {
+			field.setAccessible(true);
+			return new PropertyAccessor(field.getName(), field.getType(), MethodHandles.lookup().unreflectSetter(field));
+		} catch (IllegalAccessException e) {
+			throw new BeansException("Field '" + field.getName() + "' of " + field.getDeclaringClass().getName() + " is not writable", e);
+		}
+	}
+
+	/**
+	 * 设置属性值，值的类型与属性类型不匹配时使用hutool的Convert转换
+	 *
+	 * @param bean
+	 * @param value
+	 * @throws BeansException
+	 */
+	public void setValue(Object bean, Object value) throws BeansException {
+		if (value != null && !ClassUtil.isAssignable(propertyType, value.getClass())) {
+			Object converted = Convert.convert(propertyType, value);
+			if (converted != null) {
+				value = converted;
+			}
+		}
+		try {
+			setter.invokeExact(bean, value);
+		} catch (Throwable e) {
+			throw new BeansException("Failed to set property '" + name + "' of " + bean.getClass().getName(), e);
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Class<?> getPropertyType() {
+		return propertyType;
+	}
+}
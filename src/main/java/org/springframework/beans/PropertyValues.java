@@ -1,39 +1,178 @@
 package org.springframework.beans;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
+ * bean的属性值集合。
+ * 内部是不可变的数组，添加属性值时复制一份新的（写时复制），名称索引在第一次按名称查找时建立；
+ * 读取时不加锁，多个线程同时创建bean时可以安全共享。
+ * 一次添加多个属性值时使用addPropertyValues，只复制一次数组
+ *
  * @author derekyi
  * @date 2020/11/23
  */
-public class PropertyValues {
+public class PropertyValues implements Iterable<PropertyValue> {
 
-	private final List<PropertyValue> propertyValueList = new ArrayList<>();
+	private static final Entries EMPTY_ENTRIES = new Entries(new PropertyValue[0]);
 
-	public void addPropertyValue(PropertyValue pv) {
-		for (int i = 0; i < this.propertyValueList.size(); i++) {
-			PropertyValue currentPv = this.propertyValueList.get(i);
-			if (currentPv.getName().equals(pv.getName())) {
-				//覆盖原有的属性值
-				this.propertyValueList.set(i, pv);
-				return;
-			}
+	private volatile Entries entries = EMPTY_ENTRIES;
+
+	public PropertyValues() {
+	}
+
+	private PropertyValues(Entries entries) {
+		this.entries = entries;
+	}
+
+	public synchronized void addPropertyValue(PropertyValue pv) {
+		this.entries = this.entries.with(Collections.singletonList(pv));
+	}
+
+	/**
+	 * 批量添加属性值，同名属性覆盖原有的属性值
+	 *
+	 * @param pvs
+	 */
+	public synchronized void addPropertyValues(Collection<PropertyValue> pvs) {
+		if (!pvs.isEmpty()) {
+			this.entries = this.entries.with(pvs);
 		}
-		this.propertyValueList.add(pv);
 	}
 
+	/**
+	 * 返回属性值数组的副本
+	 *
+	 * @return
+	 */
 	public PropertyValue[] getPropertyValues() {
-		return this.propertyValueList.toArray(new PropertyValue[0]);
+		return this.entries.values.clone();
+	}
+
+	/**
+	 * 不可修改的属性值列表，不复制数组
+	 *
+	 * @return
+	 */
+	public List<PropertyValue> asList() {
+		return this.entries.list;
+	}
+
+	@Override
+	public Iterator<PropertyValue> iterator() {
+		return this.entries.list.iterator();
 	}
 
 	public PropertyValue getPropertyValue(String propertyName) {
-		for (int i = 0; i < this.propertyValueList.size(); i++) {
-			PropertyValue pv = this.propertyValueList.get(i);
-			if (pv.getName().equals(propertyName)) {
-				return pv;
+		Entries current = this.entries;
+		int index = current.indexOf(propertyName);
+		return index >= 0 ? current.values[index] : null;
+	}
+
+	public int size() {
+		return this.entries.values.length;
+	}
+
+	public boolean isEmpty() {
+		return this.entries.values.length == 0;
+	}
+
+	/**
+	 * 复制一份属性值，与当前对象共享不可变的内部数组，之后添加属性值互不影响
+	 *
+	 * @return
+	 */
+	public PropertyValues copy() {
+		return new PropertyValues(this.entries);
+	}
+
+	/**
+	 * 合并属性值，other中的同名属性覆盖当前的属性值。
+	 * 不修改当前对象，没有需要合并的属性值时直接返回当前对象
+	 *
+	 * @param other
+	 * @return
+	 */
+	public PropertyValues merge(PropertyValues other) {
+		if (other == null || other == this || other.isEmpty()) {
+			return this;
+		}
+		return new PropertyValues(this.entries.with(other.asList()));
+	}
+
+	private static final class Entries {
+
+		//属性较少时直接遍历查找，不建立索引
+		private static final int INDEX_THRESHOLD = 8;
+
+		private final PropertyValue[] values;
+
+		private final List<PropertyValue> list;
+
+		private volatile Map<String, Integer> indexByName;
+
+		private Entries(PropertyValue[] values) {
+			this.values = values;
+			this.list = Collections.unmodifiableList(Arrays.asList(values));
+		}
+
+		private int indexOf(String name) {
+			if (values.length <= INDEX_THRESHOLD) {
+				return scan(name);
+			}
+			Map<String, Integer> index = indexByName;
+			if (index == null) {
+				index = new HashMap<>(values.length * 2);
+				for (int i = 0; i < values.length; i++) {
+					index.put(values[i].getName(), i);
+				}
+				indexByName = index;
+			}
+			Integer i = index.get(name);
+			return i != null ? i : -1;
+		}
+
+		private int scan(String name) {
+			for (int i = 0; i < values.length; i++) {
+				if (values[i].getName().equals(name)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * 合并后的新数组，同名属性保留原来的位置
+		 */
+		private Entries with(Collection<PropertyValue> pvs) {
+			if (pvs.size() == 1) {
+				PropertyValue pv = pvs.iterator().next();
+				//数组本身需要复制，遍历查找不会增加复杂度，也不为旧数组建立索引
+				int index = indexByName != null ? indexOf(pv.getName()) : scan(pv.getName());
+				PropertyValue[] newValues;
+				if (index >= 0) {
+					newValues = values.clone();
+					newValues[index] = pv;
+				} else {
+					newValues = Arrays.copyOf(values, values.length + 1);
+					newValues[values.length] = pv;
+				}
+				return new Entries(newValues);
+			}
+			Map<String, PropertyValue> merged = new LinkedHashMap<>((values.length + pvs.size()) * 2);
+			for (PropertyValue pv : values) {
+				merged.put(pv.getName(), pv);
+			}
+			for (PropertyValue pv : pvs) {
+				merged.put(pv.getName(), pv);
 			}
+			return new Entries(merged.values().toArray(new PropertyValue[0]));
 		}
-		return null;
 	}
 }
@@ -29,5 +29,12 @@ public interface ConfigurableListableBeanFactory extends ListableBeanFactory, Au
 	 */
 	void preInstantiateSingletons() throws BeansException;
 
+	/**
+	 * 冻结所有BeanDefinition，之后按类型查找bean不再需要加锁
+	 */
+	void freezeConfiguration();
+
+	boolean isConfigurationFrozen();
+
 	void addBeanPostProcessor(BeanPostProcessor beanPostProcessor);
 }
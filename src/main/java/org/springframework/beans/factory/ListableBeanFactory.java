@@ -20,6 +20,14 @@ public interface ListableBeanFactory extends BeanFactory {
 	 */
 	<T> Map<String, T> getBeansOfType(Class<T> type) throws BeansException;
 
+	/**
+	 * 返回指定类型（包括子类）的bean的名称，不会实例化bean
+	 *
+	 * @param type
+	 * @return
+	 */
+	String[] getBeanNamesForType(Class<?> type);
+
 	/**
 	 * 返回定义的所有bean的名称
 	 *
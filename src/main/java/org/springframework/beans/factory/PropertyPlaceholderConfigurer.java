@@ -10,6 +10,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.util.StringValueResolver;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -71,13 +73,15 @@ public class PropertyPlaceholderConfigurer implements BeanFactoryPostProcessor {
 
 	private void resolvePropertyValues(BeanDefinition beanDefinition, Properties properties) {
 		PropertyValues propertyValues = beanDefinition.getPropertyValues();
-		for (PropertyValue propertyValue : propertyValues.getPropertyValues()) {
+		List<PropertyValue> resolvedValues = new ArrayList<>();
+		for (PropertyValue propertyValue : propertyValues) {
 			Object value = propertyValue.getValue();
 			if (value instanceof String) {
 				value = resolvePlaceholder((String) value, properties);
-				propertyValues.addPropertyValue(new PropertyValue(propertyValue.getName(), value));
+				resolvedValues.add(new PropertyValue(propertyValue.getName(), value));
 			}
 		}
+		propertyValues.addPropertyValues(resolvedValues);
 	}
 
 	private String resolvePlaceholder(String value, Properties properties) {
@@ -1,16 +1,23 @@
 package org.springframework.beans.factory.annotation;
 
-import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.util.TypeUtil;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
 import org.springframework.core.convert.ConversionService;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 处理@Autowired和@Value注解的BeanPostProcessor
@@ -18,78 +25,219 @@ import java.lang.reflect.Field;
  * @author derekyi
  * @date 2020/12/27
  */
-public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareBeanPostProcessor, BeanFactoryAware {
+public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareBeanPostProcessor, MergedBeanDefinitionPostProcessor, BeanFactoryAware {
 
 	private ConfigurableListableBeanFactory beanFactory;
 
+	private final Map<Class<?>, InjectionMetadata> injectionMetadataCache = new ConcurrentHashMap<>(256);
+
+	private final Map<Class<?>, Constructor<?>[]> candidateConstructorsCache = new ConcurrentHashMap<>(256);
+
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
 		this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
 	}
 
+	/**
+	 * 冻结配置时预先解析候选构造函数和注入元素
+	 */
 	@Override
-	public PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName) throws BeansException {
-		//处理@Value注解
-		Class<?> clazz = bean.getClass();
-		Field[] fields = clazz.getDeclaredFields();
-		for (Field field : fields) {
-			Value valueAnnotation = field.getAnnotation(Value.class);
-			if (valueAnnotation != null) {
-				Object value = valueAnnotation.value();
-				value = beanFactory.resolveEmbeddedValue((String) value);
-
-				//类型转换
-				Class<?> sourceType = value.getClass();
-				Class<?> targetType = (Class<?>) TypeUtil.getType(field);
-				ConversionService conversionService = beanFactory.getConversionService();
-				if (conversionService != null) {
-					if (conversionService.canConvert(sourceType, targetType)) {
-						value = conversionService.convert(value, targetType);
-					}
-				}
+	public void postProcessMergedBeanDefinition(BeanDefinition beanDefinition, Class<?> beanType, String beanName) throws BeansException {
+		determineCandidateConstructors(beanType, beanName);
+		findInjectionMetadata(beanType);
+	}
 
-				BeanUtil.setFieldValue(bean, field.getName(), value);
-			}
+	/**
+	 * 有@Autowired注解的构造函数；没有时如果只有一个有参构造函数，则使用该构造函数
+	 *
+	 * @param beanClass
+	 * @param beanName
+	 * @return
+	 * @throws BeansException
+	 */
+	@Override
+	public Constructor<?>[] determineCandidateConstructors(Class<?> beanClass, String beanName) throws BeansException {
+		Constructor<?>[] candidateConstructors = candidateConstructorsCache.get(beanClass);
+		if (candidateConstructors == null) {
+			candidateConstructors = candidateConstructorsCache.computeIfAbsent(beanClass, this::findCandidateConstructors);
 		}
+		return candidateConstructors.length > 0 ? candidateConstructors : null;
+	}
 
-		//处理@Autowired注解
-		for (Field field : fields) {
-			Autowired autowiredAnnotation = field.getAnnotation(Autowired.class);
-			if (autowiredAnnotation != null) {
-				Class<?> fieldType = field.getType();
-				String dependentBeanName = null;
-				Qualifier qualifierAnnotation = field.getAnnotation(Qualifier.class);
-				Object dependentBean = null;
-				if (qualifierAnnotation != null) {
-					dependentBeanName = qualifierAnnotation.value();
-					dependentBean = beanFactory.getBean(dependentBeanName, fieldType);
-				} else {
-					dependentBean = beanFactory.getBean(fieldType);
-				}
-				BeanUtil.setFieldValue(bean, field.getName(), dependentBean);
+	private Constructor<?>[] findCandidateConstructors(Class<?> beanClass) {
+		Constructor<?>[] declaredConstructors = beanClass.getDeclaredConstructors();
+		List<Constructor<?>> candidates = new ArrayList<>();
+		for (Constructor<?> constructor : declaredConstructors) {
+			if (constructor.getAnnotation(Autowired.class) != null) {
+				candidates.add(constructor);
 			}
 		}
+		//非静态内部类的构造函数第一个参数是外部类实例，不能自动注入
+		boolean innerClass = beanClass.isMemberClass() && !Modifier.isStatic(beanClass.getModifiers());
+		if (candidates.isEmpty() && !innerClass && declaredConstructors.length == 1 && declaredConstructors[0].getParameterCount() > 0) {
+			candidates.add(declaredConstructors[0]);
+		}
+		return candidates.toArray(new Constructor<?>[0]);
+	}
 
+	@Override
+	public PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName) throws BeansException {
+		findInjectionMetadata(bean.getClass()).inject(bean, beanName);
 		return pvs;
 	}
 
-	@Override
-	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
-		return null;
+	/**
+	 * 获取类的注入元数据，同一个类只扫描一次字段、方法和注解
+	 *
+	 * @param clazz
+	 * @return
+	 */
+	public InjectionMetadata findInjectionMetadata(Class<?> clazz) {
+		InjectionMetadata metadata = injectionMetadataCache.get(clazz);
+		if (metadata == null) {
+			metadata = injectionMetadataCache.computeIfAbsent(clazz, this::buildInjectionMetadata);
+		}
+		return metadata;
 	}
 
-	@Override
-	public boolean postProcessAfterInstantiation(Object bean, String beanName) throws BeansException {
-		return true;
+	private InjectionMetadata buildInjectionMetadata(Class<?> clazz) {
+		List<Class<?>> hierarchy = new ArrayList<>();
+		for (Class<?> targetClass = clazz; targetClass != null && targetClass != Object.class; targetClass = targetClass.getSuperclass()) {
+			hierarchy.add(0, targetClass);
+		}
+		//先处理@Value注解，再处理@Autowired注解；父类在前，同一个类中字段在方法前
+		List<InjectionMetadata.InjectedElement> valueElements = new ArrayList<>();
+		List<InjectionMetadata.InjectedElement> autowiredElements = new ArrayList<>();
+		for (Class<?> targetClass : hierarchy) {
+			for (Field field : targetClass.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				Value valueAnnotation = field.getAnnotation(Value.class);
+				if (valueAnnotation != null) {
+					valueElements.add(new ValueElement(field, valueAnnotation.value()));
+				}
+				if (field.getAnnotation(Autowired.class) != null) {
+					Qualifier qualifierAnnotation = field.getAnnotation(Qualifier.class);
+					autowiredElements.add(new AutowiredElement(field, qualifierAnnotation != null ? qualifierAnnotation.value() : null));
+				}
+			}
+			for (Method method : targetClass.getDeclaredMethods()) {
+				if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.isSynthetic() || isOverridden(method, clazz)) {
+					continue;
+				}
+				Value valueAnnotation = method.getAnnotation(Value.class);
+				if (valueAnnotation != null) {
+					valueElements.add(new ValueElement(method, valueAnnotation.value()));
+				}
+				if (method.getAnnotation(Autowired.class) != null) {
+					Qualifier qualifierAnnotation = method.getAnnotation(Qualifier.class);
+					if (qualifierAnnotation == null && method.getParameterCount() == 1) {
+						qualifierAnnotation = method.getParameters()[0].getAnnotation(Qualifier.class);
+					}
+					autowiredElements.add(new AutowiredElement(method, qualifierAnnotation != null ? qualifierAnnotation.value() : null));
+				}
+			}
+		}
+		if (valueElements.isEmpty() && autowiredElements.isEmpty()) {
+			return InjectionMetadata.EMPTY;
+		}
+		valueElements.addAll(autowiredElements);
+		return new InjectionMetadata(clazz, valueElements);
 	}
 
-	@Override
-	public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
-		return null;
+	/**
+	 * 方法是否被子类中同样带注解的方法覆盖，覆盖后只按子类的方法注入一次。
+	 * 子类覆盖时没有注解（如CGLIB生成的子类）仍按父类方法的注解注入
+	 */
+	private boolean isOverridden(Method method, Class<?> clazz) {
+		if (Modifier.isPrivate(method.getModifiers())) {
+			return false;
+		}
+		for (Class<?> subclass = clazz; subclass != method.getDeclaringClass(); subclass = subclass.getSuperclass()) {
+			try {
+				Method overriding = subclass.getDeclaredMethod(method.getName(), method.getParameterTypes());
+				if (overriding.getAnnotation(Autowired.class) != null || overriding.getAnnotation(Value.class) != null) {
+					return true;
+				}
+			} catch (NoSuchMethodException e) {
+				//继续查找父类
+			}
+		}
+		return false;
 	}
 
-	@Override
-	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-		return null;
+	/**
+	 * 带@Value注解的字段或setter方法
+	 */
+	private class ValueElement extends InjectionMetadata.InjectedElement {
+
+		private final String value;
+
+		private final Class<?> targetType;
+
+		ValueElement(Field field, String value) {
+			super(field);
+			this.value = value;
+			this.targetType = getInjectedType();
+		}
+
+		ValueElement(Method method, String value) {
+			super(method);
+			this.value = value;
+			this.targetType = getInjectedType();
+		}
+
+		@Override
+		protected Object resolveValue(Object target, String beanName) throws BeansException {
+			Object resolvedValue = beanFactory.resolveEmbeddedValue(value);
+
+			//类型转换
+			ConversionService conversionService = beanFactory.getConversionService();
+			if (conversionService != null && conversionService.canConvert(resolvedValue.getClass(), targetType)) {
+				resolvedValue = conversionService.convert(resolvedValue, targetType);
+			}
+			return resolvedValue;
+		}
+	}
+
+	/**
+	 * 带@Autowired注解的字段或setter方法
+	 */
+	private class AutowiredElement extends InjectionMetadata.InjectedElement {
+
+		private final String qualifier;
+
+		private final Class<?> dependencyType;
+
+		AutowiredElement(Field field, String qualifier) {
+			super(field);
+			this.qualifier = qualifier;
+			this.dependencyType = getInjectedType();
+		}
+
+		AutowiredElement(Method method, String qualifier) {
+			super(method);
+			this.qualifier = qualifier;
+			this.dependencyType = getInjectedType();
+		}
+
+		@Override
+		protected Object resolveValue(Object target, String beanName) throws BeansException {
+			if (qualifier != null) {
+				return beanFactory.getBean(qualifier, dependencyType);
+			}
+			return beanFactory.getBean(dependencyType);
+		}
+
+		@Override
+		public boolean isBeanDependency() {
+			return true;
+		}
+
+		@Override
+		public String getQualifier() {
+			return qualifier;
+		}
 	}
 }
@@ -0,0 +1,122 @@
+package org.springframework.beans.factory.annotation;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessor;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 某个类需要注解注入的字段和setter方法，每个类只解析一次，之后每次注入直接按记录的元素重放
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class InjectionMetadata {
+
+	public static final InjectionMetadata EMPTY = new InjectionMetadata(Object.class, Collections.emptyList());
+
+	private final Class<?> targetClass;
+
+	private final InjectedElement[] injectedElements;
+
+	public InjectionMetadata(Class<?> targetClass, Collection<InjectedElement> injectedElements) {
+		this.targetClass = targetClass;
+		this.injectedElements = injectedElements.toArray(new InjectedElement[0]);
+	}
+
+	public void inject(Object target, String beanName) throws BeansException {
+		for (InjectedElement element : injectedElements) {
+			element.inject(target, beanName);
+		}
+	}
+
+	public boolean isEmpty() {
+		return injectedElements.length == 0;
+	}
+
+	public Class<?> getTargetClass() {
+		return targetClass;
+	}
+
+	public List<InjectedElement> getInjectedElements() {
+		return Collections.unmodifiableList(Arrays.asList(injectedElements));
+	}
+
+	/**
+	 * 一个需要注入的字段或只有一个参数的setter方法
+	 */
+	public abstract static class InjectedElement {
+
+		protected final Member member;
+
+		private final PropertyAccessor accessor;
+
+		protected InjectedElement(Field field) {
+			this.member = field;
+			this.accessor = PropertyAccessor.forField(field);
+		}
+
+		protected InjectedElement(Method method) throws BeansException {
+			if (method.getParameterCount() != 1) {
+				throw new BeansException("Injection method must have exactly one parameter: " + method);
+			}
+			this.member = method;
+			try {
+				this.accessor = PropertyAccessor.forWriteMethod(method.getName(), method);
+			} catch (IllegalAccessException e) {
+				throw new BeansException("Method " + method + " is not accessible", e);
+			}
+		}
+
+		/**
+		 * 解析需要注入的值
+		 *
+		 * @param target
+		 * @param beanName
+		 * @return
+		 * @throws BeansException
+		 */
+		protected abstract Object resolveValue(Object target, String beanName) throws BeansException;
+
+		public void inject(Object target, String beanName) throws BeansException {
+			accessor.setValue(target, resolveValue(target, beanName));
+		}
+
+		public Member getMember() {
+			return member;
+		}
+
+		/**
+		 * 字段的类型或setter方法的参数类型
+		 *
+		 * @return
+		 */
+		public Class<?> getInjectedType() {
+			return accessor.getPropertyType();
+		}
+
+		/**
+		 * 是否注入其他bean，@Value注入的是值，不依赖其他bean
+		 *
+		 * @return
+		 */
+		public boolean isBeanDependency() {
+			return false;
+		}
+
+		/**
+		 * 依赖的bean名称，为null时按getInjectedType()的类型查找
+		 *
+		 * @return
+		 */
+		public String getQualifier() {
+			return null;
+		}
+	}
+}
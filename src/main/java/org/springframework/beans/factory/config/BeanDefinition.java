@@ -2,6 +2,8 @@ package org.springframework.beans.factory.config;
 
 import org.springframework.beans.PropertyValues;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
 import java.util.Objects;
 
 /**
@@ -20,6 +22,8 @@ public class BeanDefinition {
 
 	private PropertyValues propertyValues;
 
+	private ConstructorArgumentValues constructorArgumentValues;
+
 	private String initMethodName;
 
 	private String destroyMethodName;
@@ -30,6 +34,12 @@ public class BeanDefinition {
 
 	private boolean prototype = false;
 
+	//实例化策略解析出的构造函数及其MethodHandle，整体发布，读取时不会拿到不匹配的构造函数和MethodHandle
+	private volatile ResolvedConstructor resolvedConstructor;
+
+	//ConstructorResolver解析好的构造函数参数，BeanReference等需要在每次创建时解析的参数保留占位
+	private volatile Object[] preparedConstructorArguments;
+
 	public BeanDefinition(Class beanClass) {
 		this(beanClass, null);
 	}
@@ -59,6 +69,8 @@ public class BeanDefinition {
 
 	public void setBeanClass(Class beanClass) {
 		this.beanClass = beanClass;
+		this.preparedConstructorArguments = null;
+		this.resolvedConstructor = null;
 	}
 
 	public PropertyValues getPropertyValues() {
@@ -69,6 +81,17 @@ public class BeanDefinition {
 		this.propertyValues = propertyValues;
 	}
 
+	public ConstructorArgumentValues getConstructorArgumentValues() {
+		if (constructorArgumentValues == null) {
+			constructorArgumentValues = new ConstructorArgumentValues();
+		}
+		return constructorArgumentValues;
+	}
+
+	public boolean hasConstructorArgumentValues() {
+		return constructorArgumentValues != null && !constructorArgumentValues.isEmpty();
+	}
+
 	public String getInitMethodName() {
 		return initMethodName;
 	}
@@ -85,6 +108,37 @@ public class BeanDefinition {
 		this.destroyMethodName = destroyMethodName;
 	}
 
+	public Constructor<?> getResolvedConstructor() {
+		ResolvedConstructor resolved = this.resolvedConstructor;
+		return resolved != null ? resolved.getConstructor() : null;
+	}
+
+	public ResolvedConstructor getResolvedConstructorHolder() {
+		return resolvedConstructor;
+	}
+
+	/**
+	 * 缓存实例化策略解析出的构造函数，之后实例化不再查找构造函数
+	 *
+	 * @param resolvedConstructor
+	 */
+	public void setResolvedConstructorHolder(ResolvedConstructor resolvedConstructor) {
+		this.resolvedConstructor = resolvedConstructor;
+	}
+
+	public Object[] getPreparedConstructorArguments() {
+		return preparedConstructorArguments;
+	}
+
+	/**
+	 * 缓存ConstructorResolver选定的构造函数对应的参数，调用前需先通过setResolvedConstructor缓存构造函数
+	 *
+	 * @param preparedConstructorArguments
+	 */
+	public void setPreparedConstructorArguments(Object[] preparedConstructorArguments) {
+		this.preparedConstructorArguments = preparedConstructorArguments;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -97,4 +151,39 @@ public class BeanDefinition {
 	public int hashCode() {
 		return Objects.hash(beanClass);
 	}
+
+	/**
+	 * 实例化策略解析出的构造函数，及其(Object[])Object类型的MethodHandle。
+	 * MethodHandle与实例化策略相关（如CGLIB子类的构造函数），只能由同一类型的策略复用
+	 */
+	public static final class ResolvedConstructor {
+
+		private final Constructor<?> constructor;
+
+		private final MethodHandle constructorHandle;
+
+		private final Class<?> strategyClass;
+
+		public ResolvedConstructor(Constructor<?> constructor, MethodHandle constructorHandle, Class<?> strategyClass) {
+			this.constructor = constructor;
+			this.constructorHandle = constructorHandle;
+			this.strategyClass = strategyClass;
+		}
+
+		public Constructor<?> getConstructor() {
+			return constructor;
+		}
+
+		public MethodHandle getConstructorHandle() {
+			return constructorHandle;
+		}
+
+		public Class<?> getStrategyClass() {
+			return strategyClass;
+		}
+
+		public boolean matches(Constructor<?> constructor, Class<?> strategyClass) {
+			return this.constructor == constructor && this.strategyClass == strategyClass;
+		}
+	}
 }
@@ -3,7 +3,8 @@ package org.springframework.beans.factory.config;
 import org.springframework.beans.BeansException;
 
 /**
- * 用于修改实例化后的bean的修改扩展点
+ * 用于修改实例化后的bean的修改扩展点。
+ * 方法都有默认实现，BeanFactory只对覆盖了某个方法的BeanPostProcessor调用该方法
  *
  * @author derekyi
  * @date 2020/11/28
@@ -18,7 +19,9 @@ public interface BeanPostProcessor {
 	 * @return
 	 * @throws BeansException
 	 */
-	Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException;
+	default Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+		return bean;
+	}
 
 	/**
 	 * 在bean执行初始化方法之后执行此方法
@@ -28,5 +31,7 @@ public interface BeanPostProcessor {
 	 * @return
 	 * @throws BeansException
 	 */
-	Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException;
+	default Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		return bean;
+	}
 }
@@ -0,0 +1,90 @@
+package org.springframework.beans.factory.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 构造函数参数，可以按下标指定，也可以不指定下标按类型或名称匹配
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class ConstructorArgumentValues {
+
+	private final Map<Integer, ValueHolder> indexedArgumentValues = new LinkedHashMap<>();
+
+	private final List<ValueHolder> genericArgumentValues = new ArrayList<>();
+
+	public void addIndexedArgumentValue(int index, ValueHolder valueHolder) {
+		if (index < 0) {
+			throw new IllegalArgumentException("Index must not be negative");
+		}
+		indexedArgumentValues.put(index, valueHolder);
+	}
+
+	public void addGenericArgumentValue(ValueHolder valueHolder) {
+		genericArgumentValues.add(valueHolder);
+	}
+
+	public ValueHolder getIndexedArgumentValue(int index) {
+		return indexedArgumentValues.get(index);
+	}
+
+	public Map<Integer, ValueHolder> getIndexedArgumentValues() {
+		return Collections.unmodifiableMap(indexedArgumentValues);
+	}
+
+	public List<ValueHolder> getGenericArgumentValues() {
+		return Collections.unmodifiableList(genericArgumentValues);
+	}
+
+	/**
+	 * 参数个数
+	 *
+	 * @return
+	 */
+	public int getArgumentCount() {
+		return indexedArgumentValues.size() + genericArgumentValues.size();
+	}
+
+	public boolean isEmpty() {
+		return indexedArgumentValues.isEmpty() && genericArgumentValues.isEmpty();
+	}
+
+	/**
+	 * 一个构造函数参数：值（可以是BeanReference），以及可选的类型和名称
+	 */
+	public static class ValueHolder {
+
+		private final Object value;
+
+		private final String type;
+
+		private final String name;
+
+		public ValueHolder(Object value) {
+			this(value, null, null);
+		}
+
+		public ValueHolder(Object value, String type, String name) {
+			this.value = value;
+			this.type = type;
+			this.name = name;
+		}
+
+		public Object getValue() {
+			return value;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
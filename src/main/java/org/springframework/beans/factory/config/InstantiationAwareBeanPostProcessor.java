@@ -3,6 +3,8 @@ package org.springframework.beans.factory.config;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyValues;
 
+import java.lang.reflect.Constructor;
+
 /**
  * @author derekyi
  * @date 2020/12/6
@@ -17,7 +19,9 @@ public interface InstantiationAwareBeanPostProcessor extends BeanPostProcessor {
 	 * @return
 	 * @throws BeansException
 	 */
-	Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException;
+	default Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+		return null;
+	}
 
 	/**
 	 * bean实例化之后，设置属性之前执行
@@ -27,7 +31,9 @@ public interface InstantiationAwareBeanPostProcessor extends BeanPostProcessor {
 	 * @return
 	 * @throws BeansException
 	 */
-	boolean postProcessAfterInstantiation(Object bean, String beanName) throws BeansException;
+	default boolean postProcessAfterInstantiation(Object bean, String beanName) throws BeansException {
+		return true;
+	}
 
 	/**
 	 * bean实例化之后，设置属性之前执行
@@ -38,8 +44,22 @@ public interface InstantiationAwareBeanPostProcessor extends BeanPostProcessor {
 	 * @return
 	 * @throws BeansException
 	 */
-	PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName)
-			throws BeansException;
+	default PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName)
+			throws BeansException {
+		return pvs;
+	}
+
+	/**
+	 * 确定实例化使用的候选构造函数，返回null时使用无参构造函数或BeanDefinition中的构造函数参数
+	 *
+	 * @param beanClass
+	 * @param beanName
+	 * @return
+	 * @throws BeansException
+	 */
+	default Constructor<?>[] determineCandidateConstructors(Class<?> beanClass, String beanName) throws BeansException {
+		return null;
+	}
 
 	/**
 	 * 提前暴露bean
@@ -1,11 +1,11 @@
 package org.springframework.beans.factory.support;
 
-import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.ClassUtil;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.core.util.TypeUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.CachedIntrospectionResults;
+import org.springframework.beans.PropertyAccessor;
 import org.springframework.beans.PropertyValue;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.BeanFactoryAware;
@@ -15,6 +15,7 @@ import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.*;
 import org.springframework.core.convert.ConversionService;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 
 /**
@@ -28,14 +29,14 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	private InstantiationStrategy instantiationStrategy = new SimpleInstantiationStrategy();
 
 	@Override
-	protected Object createBean(String beanName, BeanDefinition beanDefinition) throws BeansException {
+	protected Object createBean(String beanName, BeanDefinition beanDefinition, BeanMetadata metadata) throws BeansException {
 		//如果bean需要代理，则直接返回代理对象
 		Object bean = resolveBeforeInstantiation(beanName, beanDefinition);
 		if (bean != null) {
 			return bean;
 		}
 
-		return doCreateBean(beanName, beanDefinition);
+		return doCreateBean(beanName, beanDefinition, metadata);
 	}
 
 	/**
@@ -55,24 +56,21 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	}
 
 	protected Object applyBeanPostProcessorsBeforeInstantiation(Class beanClass, String beanName) {
-		for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-			if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-				//log.info("初始化之前执行后置处理");
-				Object result = ((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessBeforeInstantiation(beanClass, beanName);
-				if (result != null) {
-					return result;
-				}
+		for (InstantiationAwareBeanPostProcessor processor : getBeanPostProcessorCache().beforeInstantiation) {
+			Object result = processor.postProcessBeforeInstantiation(beanClass, beanName);
+			if (result != null) {
+				return result;
 			}
 		}
 
 		return null;
 	}
 
-	protected Object doCreateBean(String beanName, BeanDefinition beanDefinition) {
+	protected Object doCreateBean(String beanName, BeanDefinition beanDefinition, BeanMetadata metadata) {
 		Object bean;
 		try {
 			log.info("【创建{}】【{}】开始", beanName, beanName);
-			bean = createBeanInstance(beanDefinition);
+			bean = createBeanInstance(beanName, beanDefinition);
 			log.info("【实例化{}】【{}】完成,值为{}", beanName,beanName, bean.getClass());
 			//为解决循环依赖问题，将实例化后的bean放进缓存中提前暴露
 			if (beanDefinition.isSingleton()) {
@@ -90,25 +88,27 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 			if (!continueWithPropertyPopulation) {
 				return bean;
 			}
-			//在设置bean属性之前，允许BeanPostProcessor修改属性值
-			applyBeanPostProcessorsBeforeApplyingPropertyValues(beanName, bean, beanDefinition);
+			//在设置bean属性之前，允许BeanPostProcessor修改属性值，修改只对本次创建有效
+			PropertyValues pvs = applyBeanPostProcessorsBeforeApplyingPropertyValues(beanName, bean, beanDefinition);
 			//为bean填充属性
-			applyPropertyValues(beanName, bean, beanDefinition);
+			applyPropertyValues(beanName, bean, pvs);
 			//执行bean的初始化方法和BeanPostProcessor的前置和后置处理方法
-			bean = initializeBean(beanName, bean, beanDefinition);
+			bean = initializeBean(beanName, bean, beanDefinition, metadata);
 		} catch (Exception e) {
 			throw new BeansException("Instantiation of bean failed", e);
 		}
 
 		//注册有销毁方法的bean
-		registerDisposableBeanIfNecessary(beanName, bean, beanDefinition);
+		registerDisposableBeanIfNecessary(beanName, bean, beanDefinition, metadata);
 
 		Object exposedObject = bean;
 		if (beanDefinition.isSingleton()) {
 			log.info("【初始化{}完成】【{}】，从缓存获取bean", beanName, beanName);
-			//如果有代理对象，此处获取代理对象
-			exposedObject = getSingleton(beanName);
-			addSingleton(beanName, exposedObject);
+			//如果其他bean已经获取了早期引用（可能是代理对象），则暴露早期引用；放入一级缓存由getSingleton完成
+			Object earlySingletonReference = getSingleton(beanName, false);
+			if (earlySingletonReference != null) {
+				exposedObject = earlySingletonReference;
+			}
 		}
 		log.info("【创建{}】【{}】结束,值为{}", beanName,beanName, exposedObject.getClass());
 		return exposedObject;
@@ -117,12 +117,10 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	protected Object getEarlyBeanReference(String beanName, BeanDefinition beanDefinition, Object bean) {
 		log.info("获取bean：{}的早期引用", beanName);
 		Object exposedObject = bean;
-		for (BeanPostProcessor bp : getBeanPostProcessors()) {
-			if (bp instanceof InstantiationAwareBeanPostProcessor) {
-				exposedObject = ((InstantiationAwareBeanPostProcessor) bp).getEarlyBeanReference(exposedObject, beanName);
-				if (exposedObject == null) {
-					return exposedObject;
-				}
+		for (InstantiationAwareBeanPostProcessor processor : getBeanPostProcessorCache().earlyReference) {
+			exposedObject = processor.getEarlyBeanReference(exposedObject, beanName);
+			if (exposedObject == null) {
+				return exposedObject;
 			}
 		}
 
@@ -137,17 +135,12 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 * @return
 	 */
 	private boolean applyBeanPostProcessorsAfterInstantiation(String beanName, Object bean) {
-		boolean continueWithPropertyPopulation = true;
-		for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-			if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-				//log.info("{}实例化之后执行后置处理", beanName);
-				if (!((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessAfterInstantiation(bean, beanName)) {
-					continueWithPropertyPopulation = false;
-					break;
-				}
+		for (InstantiationAwareBeanPostProcessor processor : getBeanPostProcessorCache().afterInstantiation) {
+			if (!processor.postProcessAfterInstantiation(bean, beanName)) {
+				return false;
 			}
 		}
-		return continueWithPropertyPopulation;
+		return true;
 	}
 
 	/**
@@ -156,19 +149,19 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 * @param beanName
 	 * @param bean
 	 * @param beanDefinition
+	 * @return 本次创建使用的属性值。BeanPostProcessor收到的是副本，返回的属性值以写时复制的方式合并，不修改BeanDefinition中共享的属性值
 	 */
-	protected void applyBeanPostProcessorsBeforeApplyingPropertyValues(String beanName, Object bean, BeanDefinition beanDefinition) {
-		for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-			if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
-				//log.info("{}实例化后，设置属性之前执行后置处理", beanName);
-				PropertyValues pvs = ((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessPropertyValues(beanDefinition.getPropertyValues(), bean, beanName);
-				if (pvs != null) {
-					for (PropertyValue propertyValue : pvs.getPropertyValues()) {
-						beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
-					}
-				}
-			}
+	protected PropertyValues applyBeanPostProcessorsBeforeApplyingPropertyValues(String beanName, Object bean, BeanDefinition beanDefinition) {
+		PropertyValues pvs = beanDefinition.getPropertyValues();
+		InstantiationAwareBeanPostProcessor[] processors = getBeanPostProcessorCache().propertyValues;
+		if (processors.length == 0) {
+			return pvs;
 		}
+		pvs = pvs.copy();
+		for (InstantiationAwareBeanPostProcessor processor : processors) {
+			pvs = pvs.merge(processor.postProcessPropertyValues(pvs, bean, beanName));
+		}
+		return pvs;
 	}
 
 	/**
@@ -177,47 +170,72 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 * @param beanName
 	 * @param bean
 	 * @param beanDefinition
+	 * @param metadata 冻结配置时预先解析的元数据，没有冻结时为null
 	 */
-	protected void registerDisposableBeanIfNecessary(String beanName, Object bean, BeanDefinition beanDefinition) {
+	protected void registerDisposableBeanIfNecessary(String beanName, Object bean, BeanDefinition beanDefinition, BeanMetadata metadata) {
 		//只有singleton类型bean会执行销毁方法
 		if (beanDefinition.isSingleton()) {
 			if (bean instanceof DisposableBean || StrUtil.isNotEmpty(beanDefinition.getDestroyMethodName())) {
-				registerDisposableBean(beanName, new DisposableBeanAdapter(bean, beanName, beanDefinition));
+				DisposableBeanAdapter adapter = metadata != null ? new DisposableBeanAdapter(bean, beanName, metadata)
+						: new DisposableBeanAdapter(bean, beanName, beanDefinition);
+				registerDisposableBean(beanName, adapter);
 			}
 		}
 	}
 
 	/**
-	 * 实例化bean
+	 * 实例化bean。有构造函数参数或BeanPostProcessor指定了构造函数时通过构造函数注入，否则使用无参构造函数
 	 *
+	 * @param beanName
 	 * @param beanDefinition
 	 * @return
 	 */
-	protected Object createBeanInstance(BeanDefinition beanDefinition) {
+	protected Object createBeanInstance(String beanName, BeanDefinition beanDefinition) {
+		if (beanDefinition.getPreparedConstructorArguments() != null) {
+			//构造函数和参数已经解析过
+			return new ConstructorResolver(this).autowireConstructor(beanName, beanDefinition, null);
+		}
+		Constructor<?>[] constructors = determineConstructorsFromBeanPostProcessors(beanDefinition.getBeanClass(), beanName);
+		if (constructors != null || beanDefinition.hasConstructorArgumentValues()) {
+			return new ConstructorResolver(this).autowireConstructor(beanName, beanDefinition, constructors);
+		}
 		return getInstantiationStrategy().instantiate(beanDefinition);
 	}
 
+	protected Constructor<?>[] determineConstructorsFromBeanPostProcessors(Class<?> beanClass, String beanName) {
+		for (InstantiationAwareBeanPostProcessor processor : getBeanPostProcessorCache().candidateConstructors) {
+			Constructor<?>[] constructors = processor.determineCandidateConstructors(beanClass, beanName);
+			if (constructors != null) {
+				return constructors;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * 为bean填充属性
 	 *
+	 * @param beanName
 	 * @param bean
-	 * @param beanDefinition
+	 * @param pvs
 	 */
-	protected void applyPropertyValues(String beanName, Object bean, BeanDefinition beanDefinition) {
+	protected void applyPropertyValues(String beanName, Object bean, PropertyValues pvs) {
 		try {
 			log.info("【为{}填充属性】【{}】开始", beanName, beanName);
-			for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValues()) {
+			CachedIntrospectionResults introspectionResults = CachedIntrospectionResults.forClass(bean.getClass());
+			for (PropertyValue propertyValue : pvs) {
 				String name = propertyValue.getName();
 				Object value = propertyValue.getValue();
 				log.info("【为{}设置属性{}】开始，值为{}", beanName, name, value);
+				PropertyAccessor propertyAccessor = introspectionResults.getPropertyAccessor(name);
 				if (value instanceof BeanReference) {
 					// beanA依赖beanB，先实例化beanB
 					BeanReference beanReference = (BeanReference) value;
 					value = getBean(beanReference.getBeanName());
-				} else {
+				} else if (value != null) {
 					//类型转换
 					Class<?> sourceType = value.getClass();
-					Class<?> targetType = (Class<?>) TypeUtil.getFieldType(bean.getClass(), name);
+					Class<?> targetType = propertyAccessor.getPropertyType();
 					ConversionService conversionService = getConversionService();
 					if (conversionService != null) {
 						if (conversionService.canConvert(sourceType, targetType)) {
@@ -226,8 +244,8 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 					}
 				}
 				log.info("【为{}设置属性{}】结束，值为{}", beanName, name, value);
-				//通过反射设置属性
-				BeanUtil.setFieldValue(bean, name, value);
+				//通过缓存的setter方法或字段设置属性
+				propertyAccessor.setValue(bean, value);
 			}
 			log.info("【为{}填充属性】【{}】结束", beanName, beanName);
 		} catch (Exception ex) {
@@ -235,7 +253,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		}
 	}
 
-	protected Object initializeBean(String beanName, Object bean, BeanDefinition beanDefinition) {
+	protected Object initializeBean(String beanName, Object bean, BeanDefinition beanDefinition, BeanMetadata metadata) {
 		log.info("【初始化{}】【{}】开始,值为{}", beanName, beanName, bean.getClass());
 		if (bean instanceof BeanFactoryAware) {
 			log.info("是aware接口，设置beanFactory");
@@ -247,7 +265,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
 		try {
 			log.info("调用【{}】初始化方法", beanName);
-			invokeInitMethods(beanName, wrappedBean, beanDefinition);
+			invokeInitMethods(beanName, wrappedBean, beanDefinition, metadata);
 		} catch (Throwable ex) {
 			throw new BeansException("Invocation of init method of bean[" + beanName + "] failed", ex);
 		}
@@ -262,8 +280,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	public Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName)
 			throws BeansException {
 		Object result = existingBean;
-		for (BeanPostProcessor processor : getBeanPostProcessors()) {
-			//log.info("{}执行初始化之前的后置处理", beanName);
+		for (BeanPostProcessor processor : getBeanPostProcessorCache().beforeInitialization) {
 			Object current = processor.postProcessBeforeInitialization(result, beanName);
 			if (current == null) {
 				return result;
@@ -277,8 +294,7 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	public Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName)
 			throws BeansException {
 		Object result = existingBean;
-		for (BeanPostProcessor processor : getBeanPostProcessors()) {
-			//log.info("{}执行初始化之后的后置处理", beanName);
+		for (BeanPostProcessor processor : getBeanPostProcessorCache().afterInitialization) {
 			Object current = processor.postProcessAfterInitialization(result, beanName);
 			if (current == null) {
 				return result;
@@ -294,15 +310,20 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 * @param beanName
 	 * @param bean
 	 * @param beanDefinition
+	 * @param metadata 冻结配置时预先解析的元数据，没有冻结时为null，按名称查找初始化方法
 	 * @throws Throwable
 	 */
-	protected void invokeInitMethods(String beanName, Object bean, BeanDefinition beanDefinition) throws Throwable {
+	protected void invokeInitMethods(String beanName, Object bean, BeanDefinition beanDefinition, BeanMetadata metadata) throws Throwable {
 		if (bean instanceof InitializingBean) {
 			((InitializingBean) bean).afterPropertiesSet();
 		}
 		String initMethodName = beanDefinition.getInitMethodName();
 		if (StrUtil.isNotEmpty(initMethodName)) {
-			Method initMethod = ClassUtil.getPublicMethod(beanDefinition.getBeanClass(), initMethodName);
+			Method initMethod = metadata != null ? metadata.getInitMethod() : null;
+			//未预先解析，或bean被替换为不是bean的类的实例时，按名称查找
+			if (initMethod == null || !initMethod.getDeclaringClass().isInstance(bean)) {
+				initMethod = ClassUtil.getPublicMethod(bean.getClass(), initMethodName);
+			}
 			if (initMethod == null) {
 				throw new BeansException("Could not find an init method named '" + initMethodName + "' on bean with name '" + beanName + "'");
 			}
@@ -2,17 +2,22 @@ package org.springframework.beans.factory.support;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.util.StringValueResolver;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author derekyi
@@ -21,9 +26,13 @@ import java.util.Map;
 @Slf4j
 public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry implements ConfigurableBeanFactory {
 
-	private final List<BeanPostProcessor> beanPostProcessors = new ArrayList<>();
+	//按添加顺序排列，重复添加时移到末尾
+	private final Set<BeanPostProcessor> beanPostProcessors = new LinkedHashSet<>();
 
-	private final Map<String, Object> factoryBeanObjectCache = new HashMap<>();
+	//按回调方法预先筛选的BeanPostProcessor，BeanPostProcessor变化时重建
+	private volatile BeanPostProcessorCache beanPostProcessorCache;
+
+	private final Map<String, Object> factoryBeanObjectCache = new ConcurrentHashMap<>();
 
 	private final List<StringValueResolver> embeddedValueResolvers = new ArrayList<StringValueResolver>();
 
@@ -39,11 +48,32 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
 			return getObjectForBeanInstance(sharedInstance, name);
 		}
 
-		BeanDefinition beanDefinition = getBeanDefinition(name);
-		Object bean = createBean(name, beanDefinition);
+		//冻结配置后使用预先解析的元数据，不再查找BeanDefinition
+		BeanMetadata metadata = getFrozenBeanMetadata(name);
+		BeanDefinition beanDefinition = metadata != null ? metadata.getBeanDefinition() : getBeanDefinition(name);
+		Object bean;
+		if (beanDefinition.isSingleton()) {
+			//持有该bean的创建锁创建，保证并发获取时单例只创建一次
+			bean = getSingleton(name, () -> createBean(name, beanDefinition, metadata));
+		} else {
+			bean = createBean(name, beanDefinition, metadata);
+		}
+		if (metadata != null && !metadata.isFactoryBean()) {
+			return bean;
+		}
 		return getObjectForBeanInstance(bean, name);
 	}
 
+	/**
+	 * 冻结配置时预先解析的元数据，没有冻结时为null
+	 *
+	 * @param beanName
+	 * @return
+	 */
+	protected BeanMetadata getFrozenBeanMetadata(String beanName) {
+		return null;
+	}
+
 	/**
 	 * 如果是FactoryBean，从FactoryBean#getObject中创建bean
 	 *
@@ -61,8 +91,13 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
 					//singleton作用域bean，从缓存中获取
 					object = this.factoryBeanObjectCache.get(beanName);
 					if (object == null) {
-						object = factoryBean.getObject();
-						this.factoryBeanObjectCache.put(beanName, object);
+						synchronized (factoryBean) {
+							object = this.factoryBeanObjectCache.get(beanName);
+							if (object == null) {
+								object = factoryBean.getObject();
+								this.factoryBeanObjectCache.put(beanName, object);
+							}
+						}
 					}
 				} else {
 					//prototype作用域bean，新创建bean
@@ -88,20 +123,51 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
 
 	protected abstract boolean containsBeanDefinition(String beanName);
 
-	protected abstract Object createBean(String beanName, BeanDefinition beanDefinition) throws BeansException;
+	/**
+	 * 创建bean
+	 *
+	 * @param beanName
+	 * @param beanDefinition
+	 * @param metadata 冻结配置时预先解析的元数据，没有冻结时为null
+	 * @return
+	 * @throws BeansException
+	 */
+	protected abstract Object createBean(String beanName, BeanDefinition beanDefinition, BeanMetadata metadata) throws BeansException;
 
 	protected abstract BeanDefinition getBeanDefinition(String beanName) throws BeansException;
 
 	@Override
 	public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
 		log.info("添加BeanPostProcessor");
-		//有则覆盖
-		this.beanPostProcessors.remove(beanPostProcessor);
-		this.beanPostProcessors.add(beanPostProcessor);
+		synchronized (this.beanPostProcessors) {
+			//有则覆盖
+			this.beanPostProcessors.remove(beanPostProcessor);
+			this.beanPostProcessors.add(beanPostProcessor);
+			this.beanPostProcessorCache = null;
+		}
 	}
 
+	/**
+	 * 所有BeanPostProcessor，返回不可修改的快照
+	 *
+	 * @return
+	 */
 	public List<BeanPostProcessor> getBeanPostProcessors() {
-		return this.beanPostProcessors;
+		return getBeanPostProcessorCache().all;
+	}
+
+	protected BeanPostProcessorCache getBeanPostProcessorCache() {
+		BeanPostProcessorCache cache = this.beanPostProcessorCache;
+		if (cache == null) {
+			synchronized (this.beanPostProcessors) {
+				cache = this.beanPostProcessorCache;
+				if (cache == null) {
+					cache = new BeanPostProcessorCache(new ArrayList<>(this.beanPostProcessors));
+					this.beanPostProcessorCache = cache;
+				}
+			}
+		}
+		return cache;
 	}
 
 	public void addEmbeddedValueResolver(StringValueResolver valueResolver) {
@@ -125,4 +191,89 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
 	public void setConversionService(ConversionService conversionService) {
 		this.conversionService = conversionService;
 	}
+
+	/**
+	 * 每个回调方法对应一个BeanPostProcessor数组，只包含覆盖了该方法的BeanPostProcessor，
+	 * 创建bean时跳过不关心该回调的BeanPostProcessor，也不需要instanceof判断
+	 */
+	protected static final class BeanPostProcessorCache {
+
+		final List<BeanPostProcessor> all;
+
+		final BeanPostProcessor[] beforeInitialization;
+
+		final BeanPostProcessor[] afterInitialization;
+
+		final InstantiationAwareBeanPostProcessor[] beforeInstantiation;
+
+		final InstantiationAwareBeanPostProcessor[] afterInstantiation;
+
+		final InstantiationAwareBeanPostProcessor[] propertyValues;
+
+		final InstantiationAwareBeanPostProcessor[] earlyReference;
+
+		final InstantiationAwareBeanPostProcessor[] candidateConstructors;
+
+		final MergedBeanDefinitionPostProcessor[] mergedDefinition;
+
+		BeanPostProcessorCache(List<BeanPostProcessor> beanPostProcessors) {
+			this.all = Collections.unmodifiableList(beanPostProcessors);
+			List<BeanPostProcessor> beforeInitialization = new ArrayList<>();
+			List<BeanPostProcessor> afterInitialization = new ArrayList<>();
+			List<InstantiationAwareBeanPostProcessor> beforeInstantiation = new ArrayList<>();
+			List<InstantiationAwareBeanPostProcessor> afterInstantiation = new ArrayList<>();
+			List<InstantiationAwareBeanPostProcessor> propertyValues = new ArrayList<>();
+			List<InstantiationAwareBeanPostProcessor> earlyReference = new ArrayList<>();
+			List<InstantiationAwareBeanPostProcessor> candidateConstructors = new ArrayList<>();
+			List<MergedBeanDefinitionPostProcessor> mergedDefinition = new ArrayList<>();
+			for (BeanPostProcessor processor : beanPostProcessors) {
+				if (overrides(processor, BeanPostProcessor.class, "postProcessBeforeInitialization", Object.class, String.class)) {
+					beforeInitialization.add(processor);
+				}
+				if (overrides(processor, BeanPostProcessor.class, "postProcessAfterInitialization", Object.class, String.class)) {
+					afterInitialization.add(processor);
+				}
+				if (processor instanceof MergedBeanDefinitionPostProcessor) {
+					mergedDefinition.add((MergedBeanDefinitionPostProcessor) processor);
+				}
+				if (processor instanceof InstantiationAwareBeanPostProcessor) {
+					InstantiationAwareBeanPostProcessor iabpp = (InstantiationAwareBeanPostProcessor) processor;
+					if (overrides(processor, InstantiationAwareBeanPostProcessor.class, "postProcessBeforeInstantiation", Class.class, String.class)) {
+						beforeInstantiation.add(iabpp);
+					}
+					if (overrides(processor, InstantiationAwareBeanPostProcessor.class, "postProcessAfterInstantiation", Object.class, String.class)) {
+						afterInstantiation.add(iabpp);
+					}
+					if (overrides(processor, InstantiationAwareBeanPostProcessor.class, "postProcessPropertyValues", PropertyValues.class, Object.class, String.class)) {
+						propertyValues.add(iabpp);
+					}
+					if (overrides(processor, InstantiationAwareBeanPostProcessor.class, "getEarlyBeanReference", Object.class, String.class)) {
+						earlyReference.add(iabpp);
+					}
+					if (overrides(processor, InstantiationAwareBeanPostProcessor.class, "determineCandidateConstructors", Class.class, String.class)) {
+						candidateConstructors.add(iabpp);
+					}
+				}
+			}
+			this.beforeInitialization = beforeInitialization.toArray(new BeanPostProcessor[0]);
+			this.afterInitialization = afterInitialization.toArray(new BeanPostProcessor[0]);
+			this.beforeInstantiation = beforeInstantiation.toArray(new InstantiationAwareBeanPostProcessor[0]);
+			this.afterInstantiation = afterInstantiation.toArray(new InstantiationAwareBeanPostProcessor[0]);
+			this.propertyValues = propertyValues.toArray(new InstantiationAwareBeanPostProcessor[0]);
+			this.earlyReference = earlyReference.toArray(new InstantiationAwareBeanPostProcessor[0]);
+			this.candidateConstructors = candidateConstructors.toArray(new InstantiationAwareBeanPostProcessor[0]);
+			this.mergedDefinition = mergedDefinition.toArray(new MergedBeanDefinitionPostProcessor[0]);
+		}
+
+		/**
+		 * BeanPostProcessor是否覆盖了接口中的默认方法
+		 */
+		private static boolean overrides(BeanPostProcessor processor, Class<?> declaringInterface, String methodName, Class<?>... parameterTypes) {
+			try {
+				return processor.getClass().getMethod(methodName, parameterTypes).getDeclaringClass() != declaringInterface;
+			} catch (NoSuchMethodException e) {
+				return true;
+			}
+		}
+	}
 }
@@ -0,0 +1,89 @@
+package org.springframework.beans.factory.support;
+
+import cn.hutool.core.util.ClassUtil;
+import cn.hutool.core.util.StrUtil;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+
+import java.lang.reflect.Method;
+
+/**
+ * 根据BeanDefinition解析出的bean元数据，不可变。
+ * 冻结配置时为每个bean预先生成一份，获取和创建bean时不再查找BeanDefinition、判断FactoryBean和查找初始化、销毁方法。
+ * 候选构造函数和注入计划由MergedBeanDefinitionPostProcessor在冻结配置时按类预先解析，
+ * 各回调适用的BeanPostProcessor由BeanPostProcessorCache预先筛选
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public final class BeanMetadata {
+
+	private final String beanName;
+
+	private final BeanDefinition beanDefinition;
+
+	private final Class<?> beanClass;
+
+	private final boolean factoryBean;
+
+	private final Method initMethod;
+
+	private final Method destroyMethod;
+
+	public BeanMetadata(String beanName, BeanDefinition beanDefinition) throws BeansException {
+		this.beanName = beanName;
+		this.beanDefinition = beanDefinition;
+		this.beanClass = beanDefinition.getBeanClass();
+		this.factoryBean = FactoryBean.class.isAssignableFrom(beanClass);
+		this.initMethod = resolveMethod(beanClass, beanDefinition.getInitMethodName());
+		this.destroyMethod = resolveMethod(beanClass, beanDefinition.getDestroyMethodName());
+	}
+
+	private static Method resolveMethod(Class<?> beanClass, String methodName) {
+		if (StrUtil.isEmpty(methodName)) {
+			return null;
+		}
+		//找不到时为null，在调用时报错
+		return ClassUtil.getPublicMethod(beanClass, methodName);
+	}
+
+	public String getBeanName() {
+		return beanName;
+	}
+
+	public BeanDefinition getBeanDefinition() {
+		return beanDefinition;
+	}
+
+	public Class<?> getBeanClass() {
+		return beanClass;
+	}
+
+	/**
+	 * bean的类是否实现了FactoryBean，不是时获取bean不需要再判断实例类型
+	 *
+	 * @return
+	 */
+	public boolean isFactoryBean() {
+		return factoryBean;
+	}
+
+	/**
+	 * 预先解析的自定义初始化方法，没有配置或找不到时为null
+	 *
+	 * @return
+	 */
+	public Method getInitMethod() {
+		return initMethod;
+	}
+
+	/**
+	 * 预先解析的自定义销毁方法，没有配置或找不到时为null
+	 *
+	 * @return
+	 */
+	public Method getDestroyMethod() {
+		return destroyMethod;
+	}
+}
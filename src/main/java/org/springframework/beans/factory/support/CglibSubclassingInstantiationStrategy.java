@@ -1,24 +1,52 @@
 package org.springframework.beans.factory.support;
 
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.NoOp;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanDefinition;
 
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * @author derekyi
  * @date 2020/11/23
  */
-public class CglibSubclassingInstantiationStrategy implements InstantiationStrategy {
+public class CglibSubclassingInstantiationStrategy extends SimpleInstantiationStrategy {
+
+	private static final Callback[] CALLBACKS = new Callback[]{NoOp.INSTANCE};
+
+	//bean的类 -> CGLIB生成的子类，每个类只生成一次
+	private final Map<Class<?>, Class<?>> subclassCache = new ConcurrentHashMap<>();
 
 	/**
-	 * 使用CGLIB动态生成子类
+	 * 使用CGLIB动态生成子类，调用子类中参数类型相同的构造函数
 	 *
 	 * @param beanDefinition
+	 * @param constructor bean的类的构造函数
 	 * @return
 	 * @throws BeansException
 	 */
 	@Override
-	public Object instantiate(BeanDefinition beanDefinition) throws BeansException {
-		//TODO 感兴趣的小伙伴可以实现下
-		throw new UnsupportedOperationException("CGLIB instantiation strategy is not supported");
+	protected Constructor<?> getInstantiatedConstructor(BeanDefinition beanDefinition, Constructor<?> constructor) throws BeansException {
+		Class<?> subclass = subclassCache.computeIfAbsent(beanDefinition.getBeanClass(), this::createEnhancedSubclass);
+		try {
+			return subclass.getDeclaredConstructor(constructor.getParameterTypes());
+		} catch (NoSuchMethodException e) {
+			throw new BeansException("Failed to instantiate [" + beanDefinition.getBeanClass().getName() + "]: no matching constructor in CGLIB subclass", e);
+		}
+	}
+
+	private Class<?> createEnhancedSubclass(Class<?> beanClass) {
+		Enhancer enhancer = new Enhancer();
+		enhancer.setSuperclass(beanClass);
+		enhancer.setCallbackType(NoOp.class);
+		enhancer.setUseCache(false);
+		Class<?> subclass = enhancer.createClass();
+		//注册为静态回调，子类的所有实例共用，实例化时不需要再设置回调
+		Enhancer.registerStaticCallbacks(subclass, CALLBACKS);
+		return subclass;
 	}
 }
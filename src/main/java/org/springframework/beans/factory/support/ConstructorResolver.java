@@ -0,0 +1,214 @@
+package org.springframework.beans.factory.support;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ClassUtil;
+import cn.hutool.core.util.StrUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.core.convert.ConversionService;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 选择构造函数并解析构造函数参数。
+ * 选定的构造函数和解析好的参数缓存在BeanDefinition中，之后创建bean只需解析其中引用的其他bean
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+@Slf4j
+class ConstructorResolver {
+
+	private final AbstractAutowireCapableBeanFactory beanFactory;
+
+	ConstructorResolver(AbstractAutowireCapableBeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+	}
+
+	/**
+	 * 通过构造函数实例化bean
+	 *
+	 * @param beanName
+	 * @param beanDefinition
+	 * @param chosenConstructors BeanPostProcessor确定的候选构造函数，其中没有指定值的参数按类型自动注入；为null时从所有构造函数中匹配构造函数参数
+	 * @return
+	 * @throws BeansException
+	 */
+	public Object autowireConstructor(String beanName, BeanDefinition beanDefinition, Constructor<?>[] chosenConstructors) throws BeansException {
+		Constructor<?> constructor = beanDefinition.getResolvedConstructor();
+		Object[] preparedArguments = beanDefinition.getPreparedConstructorArguments();
+		if (constructor != null && preparedArguments != null) {
+			return beanFactory.getInstantiationStrategy().instantiate(beanDefinition, constructor, resolvePreparedArguments(preparedArguments));
+		}
+
+		boolean autowiring = chosenConstructors != null;
+		Constructor<?>[] candidates = autowiring ? chosenConstructors.clone() : beanDefinition.getBeanClass().getDeclaredConstructors();
+		//public的构造函数优先，参数多的优先
+		Arrays.sort(candidates, (c1, c2) -> {
+			boolean p1 = Modifier.isPublic(c1.getModifiers());
+			boolean p2 = Modifier.isPublic(c2.getModifiers());
+			if (p1 != p2) {
+				return p1 ? -1 : 1;
+			}
+			return Integer.compare(c2.getParameterCount(), c1.getParameterCount());
+		});
+
+		ConstructorArgumentValues argumentValues = beanDefinition.hasConstructorArgumentValues() ? beanDefinition.getConstructorArgumentValues() : new ConstructorArgumentValues();
+		int minNrOfArgs = argumentValues.getArgumentCount();
+		for (Integer index : argumentValues.getIndexedArgumentValues().keySet()) {
+			minNrOfArgs = Math.max(minNrOfArgs, index + 1);
+		}
+
+		BeansException cause = null;
+		for (Constructor<?> candidate : candidates) {
+			int parameterCount = candidate.getParameterCount();
+			if (parameterCount < minNrOfArgs || (!autowiring && parameterCount != minNrOfArgs)) {
+				continue;
+			}
+			try {
+				preparedArguments = createArgumentArray(argumentValues, candidate, autowiring);
+			} catch (BeansException ex) {
+				cause = ex;
+				continue;
+			}
+			log.info("【{}】使用构造函数{}实例化", beanName, candidate);
+			Object bean = beanFactory.getInstantiationStrategy().instantiate(beanDefinition, candidate, resolvePreparedArguments(preparedArguments));
+			beanDefinition.setPreparedConstructorArguments(preparedArguments);
+			return bean;
+		}
+		throw new BeansException("Could not resolve matching constructor for bean '" + beanName + "'", cause);
+	}
+
+	/**
+	 * 为构造函数的每个参数匹配构造函数参数值并转换类型，引用的其他bean保留为占位
+	 */
+	private Object[] createArgumentArray(ConstructorArgumentValues argumentValues, Constructor<?> constructor, boolean autowiring) throws BeansException {
+		Parameter[] parameters = constructor.getParameters();
+		Object[] preparedArguments = new Object[parameters.length];
+		Set<ConstructorArgumentValues.ValueHolder> usedValueHolders = new HashSet<>();
+		for (int i = 0; i < parameters.length; i++) {
+			Parameter parameter = parameters[i];
+			ConstructorArgumentValues.ValueHolder valueHolder = argumentValues.getIndexedArgumentValue(i);
+			if (valueHolder == null) {
+				valueHolder = findGenericArgumentValue(argumentValues, parameter, usedValueHolders);
+			}
+			if (valueHolder != null) {
+				if (!matchesType(valueHolder, parameter.getType())) {
+					throw new BeansException("Constructor argument type [" + valueHolder.getType() + "] does not match parameter " + i + " of " + constructor);
+				}
+				usedValueHolders.add(valueHolder);
+				Object value = valueHolder.getValue();
+				preparedArguments[i] = value instanceof BeanReference ? value : convertIfNecessary(value, parameter.getType());
+			} else if (autowiring) {
+				Qualifier qualifier = parameter.getAnnotation(Qualifier.class);
+				preparedArguments[i] = new AutowiredArgument(parameter.getType(), qualifier != null ? qualifier.value() : null);
+			} else {
+				throw new BeansException("No constructor argument for parameter " + i + " of " + constructor);
+			}
+		}
+		if (usedValueHolders.size() != argumentValues.getArgumentCount()) {
+			throw new BeansException("Not all constructor arguments could be applied to " + constructor);
+		}
+		return preparedArguments;
+	}
+
+	private ConstructorArgumentValues.ValueHolder findGenericArgumentValue(ConstructorArgumentValues argumentValues, Parameter parameter,
+																		   Set<ConstructorArgumentValues.ValueHolder> usedValueHolders) {
+		for (ConstructorArgumentValues.ValueHolder valueHolder : argumentValues.getGenericArgumentValues()) {
+			if (usedValueHolders.contains(valueHolder)) {
+				continue;
+			}
+			//编译时没有保留参数名称时无法按名称匹配，按顺序使用
+			if (valueHolder.getName() != null && parameter.isNamePresent() && !valueHolder.getName().equals(parameter.getName())) {
+				continue;
+			}
+			if (!matchesType(valueHolder, parameter.getType())) {
+				continue;
+			}
+			return valueHolder;
+		}
+		return null;
+	}
+
+	private boolean matchesType(ConstructorArgumentValues.ValueHolder valueHolder, Class<?> parameterType) {
+		String type = valueHolder.getType();
+		return StrUtil.isEmpty(type) || type.equals(parameterType.getName()) || type.equals(parameterType.getSimpleName());
+	}
+
+	private Object convertIfNecessary(Object value, Class<?> targetType) throws BeansException {
+		if (value == null) {
+			return null;
+		}
+		ConversionService conversionService = beanFactory.getConversionService();
+		if (conversionService != null && conversionService.canConvert(value.getClass(), targetType)) {
+			value = conversionService.convert(value, targetType);
+		}
+		if (ClassUtil.isAssignable(targetType, value.getClass())) {
+			return value;
+		}
+		Object converted;
+		try {
+			converted = Convert.convert(targetType, value);
+		} catch (RuntimeException ex) {
+			throw new BeansException("Cannot convert [" + value + "] to " + targetType.getName(), ex);
+		}
+		if (converted == null) {
+			throw new BeansException("Cannot convert [" + value + "] to " + targetType.getName());
+		}
+		return converted;
+	}
+
+	/**
+	 * 解析占位的参数，没有占位时直接使用缓存的参数数组
+	 */
+	private Object[] resolvePreparedArguments(Object[] preparedArguments) throws BeansException {
+		Object[] arguments = preparedArguments;
+		for (int i = 0; i < preparedArguments.length; i++) {
+			Object argument = preparedArguments[i];
+			Object resolved;
+			if (argument instanceof BeanReference) {
+				resolved = beanFactory.getBean(((BeanReference) argument).getBeanName());
+			} else if (argument instanceof AutowiredArgument) {
+				resolved = ((AutowiredArgument) argument).resolve(beanFactory);
+			} else {
+				continue;
+			}
+			if (arguments == preparedArguments) {
+				arguments = preparedArguments.clone();
+			}
+			arguments[i] = resolved;
+		}
+		return arguments;
+	}
+
+	/**
+	 * 按类型自动注入的构造函数参数
+	 */
+	private static class AutowiredArgument {
+
+		private final Class<?> type;
+
+		private final String qualifier;
+
+		AutowiredArgument(Class<?> type, String qualifier) {
+			this.type = type;
+			this.qualifier = qualifier;
+		}
+
+		Object resolve(AbstractAutowireCapableBeanFactory beanFactory) throws BeansException {
+			if (qualifier != null) {
+				return beanFactory.getBean(qualifier, type);
+			}
+			return beanFactory.getBean(type);
+		}
+	}
+}
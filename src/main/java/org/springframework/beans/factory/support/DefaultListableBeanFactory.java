@@ -6,6 +6,11 @@ import org.springframework.beans.factory.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author derekyi
@@ -15,11 +20,86 @@ import java.util.*;
 public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFactory
 		implements ConfigurableListableBeanFactory, BeanDefinitionRegistry {
 
-	private Map<String, BeanDefinition> beanDefinitionMap = new HashMap<>();
+	private final Map<String, BeanDefinition> beanDefinitionMap = new ConcurrentHashMap<>(256);
+
+	//按注册顺序排列的beanName
+	private final List<String> beanDefinitionNames = new ArrayList<>(256);
+
+	//类型（bean的类、父类和接口） -> 该类型的beanName，按注册顺序排列
+	private final Map<Class<?>, Set<String>> allBeanNamesByType = new HashMap<>(256);
+
+	//getBeanNamesForType的结果缓存，注册BeanDefinition时失效
+	private final Map<Class<?>, String[]> beanNamesByTypeCache = new ConcurrentHashMap<>(256);
+
+	private volatile boolean configurationFrozen = false;
+
+	//冻结配置时为每个bean预先解析的元数据
+	private volatile Map<String, BeanMetadata> frozenBeanMetadata = Collections.emptyMap();
+
+	private final Map<String, Long> singletonInstantiationTimes = new ConcurrentHashMap<>(256);
+
+	private boolean parallelPreInstantiation = false;
+
+	private int preInstantiationParallelism = Runtime.getRuntime().availableProcessors();
 
 	@Override
 	public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) {
-		beanDefinitionMap.put(beanName, beanDefinition);
+		if (configurationFrozen) {
+			throw new BeansException("Cannot register bean definition '" + beanName + "': configuration has been frozen");
+		}
+		synchronized (allBeanNamesByType) {
+			BeanDefinition oldBeanDefinition = beanDefinitionMap.put(beanName, beanDefinition);
+			if (oldBeanDefinition != null) {
+				removeFromTypeIndex(beanName, oldBeanDefinition.getBeanClass());
+			} else {
+				beanDefinitionNames.add(beanName);
+			}
+			addToTypeIndex(beanName, beanDefinition.getBeanClass());
+			beanNamesByTypeCache.clear();
+		}
+	}
+
+	private void addToTypeIndex(String beanName, Class<?> beanClass) {
+		for (Class<?> type : getTypeHierarchy(beanClass)) {
+			allBeanNamesByType.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(beanName);
+		}
+	}
+
+	private void removeFromTypeIndex(String beanName, Class<?> beanClass) {
+		for (Class<?> type : getTypeHierarchy(beanClass)) {
+			Set<String> beanNames = allBeanNamesByType.get(type);
+			if (beanNames != null) {
+				beanNames.remove(beanName);
+				if (beanNames.isEmpty()) {
+					allBeanNamesByType.remove(type);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 类本身、所有父类和所有接口，即所有满足type.isAssignableFrom(beanClass)的type
+	 *
+	 * @param beanClass
+	 * @return
+	 */
+	private Set<Class<?>> getTypeHierarchy(Class<?> beanClass) {
+		Set<Class<?>> types = new LinkedHashSet<>();
+		Deque<Class<?>> queue = new ArrayDeque<>();
+		queue.add(beanClass);
+		while (!queue.isEmpty()) {
+			Class<?> type = queue.poll();
+			if (types.add(type)) {
+				if (type.getSuperclass() != null) {
+					queue.add(type.getSuperclass());
+				}
+				Collections.addAll(queue, type.getInterfaces());
+			}
+		}
+		if (beanClass.isInterface()) {
+			types.add(Object.class);
+		}
+		return types;
 	}
 
 	@Override
@@ -40,46 +120,215 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Override
 	public <T> Map<String, T> getBeansOfType(Class<T> type) throws BeansException {
 		Map<String, T> result = new HashMap<>();
-		beanDefinitionMap.forEach((beanName, beanDefinition) -> {
-			Class beanClass = beanDefinition.getBeanClass();
-			if (type.isAssignableFrom(beanClass)) {
-				log.info("根据bean类型获取【{}】", beanName);
-				T bean = (T) getBean(beanName);
-				result.put(beanName, bean);
-			}
-		});
+		for (String beanName : getBeanNamesForType(type)) {
+			log.info("根据bean类型获取【{}】", beanName);
+			T bean = (T) getBean(beanName);
+			result.put(beanName, bean);
+		}
 		return result;
 	}
 
-	public <T> T getBean(Class<T> requiredType) throws BeansException {
-		List<String> beanNames = new ArrayList<>();
-		for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
-			Class beanClass = entry.getValue().getBeanClass();
-			if (requiredType.isAssignableFrom(beanClass)) {
-				beanNames.add(entry.getKey());
+	@Override
+	public String[] getBeanNamesForType(Class<?> type) {
+		String[] beanNames = beanNamesByTypeCache.get(type);
+		if (beanNames != null) {
+			return beanNames.clone();
+		}
+		synchronized (allBeanNamesByType) {
+			Set<String> indexedNames = allBeanNamesByType.get(type);
+			beanNames = indexedNames != null ? indexedNames.toArray(new String[0]) : new String[0];
+			beanNamesByTypeCache.put(type, beanNames);
+		}
+		return beanNames.clone();
+	}
+
+	/**
+	 * 冻结BeanDefinition，之后不能再注册新的BeanDefinition。
+	 * 按BeanFactoryPostProcessor修改后的beanClass重建类型索引，并预先生成所有类型的查询结果；
+	 * 为每个bean预先解析元数据，并回调MergedBeanDefinitionPostProcessor预先解析注入字段等
+	 */
+	@Override
+	public void freezeConfiguration() {
+		synchronized (allBeanNamesByType) {
+			if (configurationFrozen) {
+				return;
+			}
+			allBeanNamesByType.clear();
+			for (String beanName : beanDefinitionNames) {
+				addToTypeIndex(beanName, beanDefinitionMap.get(beanName).getBeanClass());
 			}
+			beanNamesByTypeCache.clear();
+			allBeanNamesByType.forEach((type, beanNames) -> beanNamesByTypeCache.put(type, beanNames.toArray(new String[0])));
+
+			Map<String, BeanMetadata> metadataMap = new HashMap<>(beanDefinitionNames.size() * 2);
+			MergedBeanDefinitionPostProcessor[] processors = getBeanPostProcessorCache().mergedDefinition;
+			for (String beanName : beanDefinitionNames) {
+				BeanDefinition beanDefinition = beanDefinitionMap.get(beanName);
+				BeanMetadata metadata = new BeanMetadata(beanName, beanDefinition);
+				metadataMap.put(beanName, metadata);
+				//预先解析候选构造函数和注入计划
+				for (MergedBeanDefinitionPostProcessor processor : processors) {
+					processor.postProcessMergedBeanDefinition(beanDefinition, metadata.getBeanClass(), beanName);
+				}
+			}
+			frozenBeanMetadata = Collections.unmodifiableMap(metadataMap);
+			configurationFrozen = true;
 		}
-		if (beanNames.size() == 1) {
-			return getBean(beanNames.get(0), requiredType);
+		log.info("冻结BeanDefinition，共{}个bean，{}个类型", beanDefinitionMap.size(), beanNamesByTypeCache.size());
+	}
+
+	@Override
+	protected BeanMetadata getFrozenBeanMetadata(String beanName) {
+		return frozenBeanMetadata.get(beanName);
+	}
+
+	/**
+	 * 冻结配置时预先解析的元数据
+	 *
+	 * @param beanName
+	 * @return
+	 * @throws BeansException 配置没有冻结或没有该bean
+	 */
+	public BeanMetadata getBeanMetadata(String beanName) throws BeansException {
+		BeanMetadata metadata = frozenBeanMetadata.get(beanName);
+		if (metadata == null) {
+			throw new BeansException("No frozen metadata for bean named '" + beanName + "'");
+		}
+		return metadata;
+	}
+
+	@Override
+	public boolean isConfigurationFrozen() {
+		return configurationFrozen;
+	}
+
+	public <T> T getBean(Class<T> requiredType) throws BeansException {
+		String[] beanNames = getBeanNamesForType(requiredType);
+		if (beanNames.length == 1) {
+			return getBean(beanNames[0], requiredType);
 		}
 
 		throw new BeansException(requiredType + "expected single bean but found " +
-				beanNames.size() + ": " + beanNames);
+				beanNames.length + ": " + Arrays.toString(beanNames));
 	}
 
 	@Override
 	public String[] getBeanDefinitionNames() {
-		Set<String> beanNames = beanDefinitionMap.keySet();
-		return beanNames.toArray(new String[beanNames.size()]);
+		synchronized (allBeanNamesByType) {
+			return beanDefinitionNames.toArray(new String[0]);
+		}
 	}
 
 	@Override
 	public void preInstantiateSingletons() throws BeansException {
-		log.info("遍历beanDefinitionMap实例化单例bean");
-		beanDefinitionMap.forEach((beanName, beanDefinition) -> {
-			if(beanDefinition.isSingleton()){
-				getBean(beanName);
+		//按注册顺序实例化
+		List<String> singletonNames = new ArrayList<>();
+		for (String beanName : getBeanDefinitionNames()) {
+			if (getBeanDefinition(beanName).isSingleton()) {
+				singletonNames.add(beanName);
+			}
+		}
+
+		if (parallelPreInstantiation && singletonNames.size() > 1) {
+			log.info("根据依赖图并行实例化单例bean，并行度{}", preInstantiationParallelism);
+			preInstantiateSingletonsInParallel(singletonNames);
+		} else {
+			log.info("按注册顺序实例化单例bean");
+			for (String beanName : singletonNames) {
+				instantiateSingleton(beanName);
+			}
+		}
+		logSingletonInstantiationTimes();
+	}
+
+	/**
+	 * 依赖图中没有依赖关系的子树在ForkJoinPool中并行实例化，互相依赖的bean在同一个任务中按原有的循环依赖逻辑创建
+	 *
+	 * @param singletonNames
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> singletonNames) {
+		SingletonDependencyGraph dependencyGraph = new SingletonDependencyGraph(this, singletonNames);
+		List<List<String>> components = dependencyGraph.getComponents();
+		List<CompletableFuture<Void>> futures = new ArrayList<>(components.size());
+		ForkJoinPool pool = new ForkJoinPool(preInstantiationParallelism);
+		try {
+			//分量按依赖在前的顺序排列，创建任务时其依赖的任务都已创建
+			for (int i = 0; i < components.size(); i++) {
+				List<String> component = components.get(i);
+				Runnable task = () -> {
+					for (String beanName : component) {
+						instantiateSingleton(beanName);
+					}
+				};
+				List<CompletableFuture<Void>> dependencyFutures = new ArrayList<>();
+				for (Integer dependency : dependencyGraph.getComponentDependencies(i)) {
+					dependencyFutures.add(futures.get(dependency));
+				}
+				if (dependencyFutures.isEmpty()) {
+					futures.add(CompletableFuture.runAsync(task, pool));
+				} else {
+					futures.add(CompletableFuture.allOf(dependencyFutures.toArray(new CompletableFuture[0])).thenRunAsync(task, pool));
+				}
 			}
-		});
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		} catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof BeansException) {
+				throw (BeansException) cause;
+			}
+			throw new BeansException("Parallel pre-instantiation of singletons failed", cause);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private void instantiateSingleton(String beanName) {
+		if (containsSingleton(beanName)) {
+			//已作为其他bean的依赖创建
+			return;
+		}
+		long start = System.nanoTime();
+		getBean(beanName);
+		singletonInstantiationTimes.put(beanName, System.nanoTime() - start);
+	}
+
+	private void logSingletonInstantiationTimes() {
+		List<Map.Entry<String, Long>> entries = new ArrayList<>(singletonInstantiationTimes.entrySet());
+		entries.sort((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()));
+		for (Map.Entry<String, Long> entry : entries) {
+			log.info("【{}】实例化耗时{}ms", entry.getKey(), TimeUnit.NANOSECONDS.toMillis(entry.getValue()));
+		}
+	}
+
+	/**
+	 * 提前实例化单例bean时每个bean的创建耗时，单位纳秒。
+	 * 作为其他bean的依赖被创建的bean，耗时计入依赖它的bean
+	 *
+	 * @return
+	 */
+	public Map<String, Long> getSingletonInstantiationTimes() {
+		return Collections.unmodifiableMap(singletonInstantiationTimes);
+	}
+
+	public boolean isParallelPreInstantiation() {
+		return parallelPreInstantiation;
+	}
+
+	/**
+	 * 是否根据依赖图并行提前实例化单例bean，默认关闭。
+	 * 应用上下文可以覆盖AbstractRefreshableApplicationContext#createBeanFactory开启
+	 *
+	 * @param parallelPreInstantiation
+	 */
+	public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+		this.parallelPreInstantiation = parallelPreInstantiation;
+	}
+
+	public int getPreInstantiationParallelism() {
+		return preInstantiationParallelism;
+	}
+
+	public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+		this.preInstantiationParallelism = preInstantiationParallelism;
 	}
 }
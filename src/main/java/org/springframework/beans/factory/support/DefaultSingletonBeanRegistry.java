@@ -6,54 +6,233 @@ import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * 线程安全的单例注册表。
+ * 一级缓存为ConcurrentHashMap，获取已完成初始化的单例不加锁；
+ * 单例的创建按beanName加锁，不同bean的创建互不阻塞；
+ * 二三级缓存中的早期引用只对正在创建该bean的线程可见，其他线程等待创建完成
+ *
  * @author derekyi
  * @date 2020/11/22
  */
 @Slf4j
 public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 
+	/**
+	 * 解析依赖时等待其他线程的创建锁，每隔这么久检查一次是否出现跨线程的循环依赖
+	 */
+	private static final long CREATION_LOCK_RETRY_MILLIS = 10;
+
 	//一级缓存
-	private Map<String, Object> singletonObjects = new HashMap<>();
+	private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
 	//二级缓存
-	private Map<String, Object> earlySingletonObjects = new HashMap<>();
+	private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
 
 	//三级缓存
-	private Map<String, ObjectFactory<?>> singletonFactories = new HashMap<String, ObjectFactory<?>>();
+	private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
+
+	//每个beanName一把创建锁
+	private final Map<String, ReentrantLock> singletonCreationLocks = new ConcurrentHashMap<>(256);
+
+	//beanName -> 正在创建该bean的线程
+	private final Map<String, Thread> singletonCreators = new HashMap<>();
+
+	//线程 -> 该线程正在等待创建锁的beanName
+	private final Map<Thread, String> waitingForCreation = new HashMap<>();
 
-	private final Map<String, DisposableBean> disposableBeans = new HashMap<>();
+	//当前线程持有的创建锁数量，大于0说明正在为某个bean解析依赖
+	private final ThreadLocal<int[]> creationDepth = ThreadLocal.withInitial(() -> new int[1]);
+
+	private final Map<String, DisposableBean> disposableBeans = new ConcurrentHashMap<>();
 
 	@Override
 	public Object getSingleton(String beanName) {
+		return getSingleton(beanName, true);
+	}
+
+	/**
+	 * 获取单例bean。一级缓存命中时不加锁；
+	 * 只有正在创建该bean的线程才能拿到二三级缓存中的早期引用
+	 *
+	 * @param beanName
+	 * @param allowEarlyReference 是否允许从三级缓存创建早期引用
+	 * @return
+	 */
+	protected Object getSingleton(String beanName, boolean allowEarlyReference) {
 		Object singletonObject = singletonObjects.get(beanName);
-		if (singletonObject == null) {
-			singletonObject = earlySingletonObjects.get(beanName);
+		if (singletonObject == null && isSingletonCurrentlyInCreationByCurrentThread(beanName)) {
+			singletonObject = getEarlySingleton(beanName, allowEarlyReference);
+		}
+		return singletonObject;
+	}
+
+	private Object getEarlySingleton(String beanName, boolean allowEarlyReference) {
+		Object singletonObject = earlySingletonObjects.get(beanName);
+		if (singletonObject != null) {
+			log.info("二级缓存拿到【{}】", beanName);
+			return singletonObject;
+		}
+		if (allowEarlyReference) {
+			ObjectFactory<?> singletonFactory = singletonFactories.remove(beanName);
+			if (singletonFactory != null) {
+				singletonObject = singletonFactory.getObject();
+				log.info("三级缓存取到【{}】", beanName);
+				//从三级缓存放进二级缓存
+				earlySingletonObjects.put(beanName, singletonObject);
+				log.info("将【{}】从三级缓存取出放到二级缓存", beanName);
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * 当前线程是否正在创建该bean
+	 *
+	 * @param beanName
+	 * @return
+	 */
+	protected boolean isSingletonCurrentlyInCreationByCurrentThread(String beanName) {
+		ReentrantLock creationLock = singletonCreationLocks.get(beanName);
+		return creationLock != null && creationLock.isHeldByCurrentThread();
+	}
+
+	/**
+	 * 获取单例bean，不存在时持有该beanName的创建锁调用singletonFactory创建，保证同一个单例只创建一次
+	 *
+	 * @param beanName
+	 * @param singletonFactory
+	 * @return
+	 */
+	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
+		Object singletonObject = singletonObjects.get(beanName);
+		if (singletonObject != null) {
+			return singletonObject;
+		}
+
+		ReentrantLock creationLock = singletonCreationLocks.computeIfAbsent(beanName, name -> new ReentrantLock());
+		if (creationLock.isHeldByCurrentThread()) {
+			throw new BeansException("Requested bean '" + beanName + "' is currently in creation: Is there an unresolvable circular reference?");
+		}
+		singletonObject = acquireCreationLock(beanName, creationLock);
+		if (singletonObject != null) {
+			return singletonObject;
+		}
+
+		int[] depth = creationDepth.get();
+		depth[0]++;
+		try {
+			singletonObject = singletonObjects.get(beanName);
 			if (singletonObject == null) {
-				ObjectFactory<?> singletonFactory = singletonFactories.get(beanName);
-				if (singletonFactory != null) {
-					singletonObject = singletonFactory.getObject();
-					log.info("三级缓存取到【{}】", beanName);
-					//从三级缓存放进二级缓存
-					earlySingletonObjects.put(beanName, singletonObject);
-					singletonFactories.remove(beanName);
-					log.info("将【{}】从三级缓存取出放到二级缓存", beanName);
-				} else {
-					log.info("三级缓存未拿到【{}】", beanName);
-				}
+				singletonObject = singletonFactory.getObject();
+				addSingleton(beanName, singletonObject);
+			}
+			return singletonObject;
+		} finally {
+			depth[0]--;
+			synchronized (waitingForCreation) {
+				singletonCreators.remove(beanName);
+			}
+			creationLock.unlock();
+		}
+	}
+
+	/**
+	 * 获取beanName的创建锁。
+	 * 当前线程没有在创建其他bean时直接阻塞等待；
+	 * 否则是在为某个bean解析依赖，限时等待并检查是否与持有锁的线程互相等待（跨线程的循环依赖），
+	 * 如果是则像单线程的循环依赖一样使用该bean的早期引用，此时持有锁的线程正阻塞在当前线程持有的锁上，不会并发修改该bean
+	 *
+	 * @param beanName
+	 * @param creationLock
+	 * @return 循环依赖时返回早期引用，成功加锁时返回null
+	 */
+	private Object acquireCreationLock(String beanName, ReentrantLock creationLock) {
+		Thread currentThread = Thread.currentThread();
+		try {
+			if (creationDepth.get()[0] == 0) {
+				creationLock.lock();
 			} else {
-				log.info("二级缓存拿到【{}】", beanName);
+				while (!creationLock.tryLock(CREATION_LOCK_RETRY_MILLIS, TimeUnit.MILLISECONDS)) {
+					if (breakCircularWait(beanName, currentThread)) {
+						return resolveEarlySingletonOfOtherThread(beanName);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			currentThread.interrupt();
+			throw new BeansException("Interrupted while waiting for creation of bean '" + beanName + "'", e);
+		} finally {
+			synchronized (waitingForCreation) {
+				waitingForCreation.remove(currentThread);
+			}
+		}
+		synchronized (waitingForCreation) {
+			singletonCreators.put(beanName, currentThread);
+		}
+		return null;
+	}
+
+	/**
+	 * 沿着"bean的创建线程 -> 该线程等待的bean"检查是否回到当前线程。
+	 * 检查和移除等待标记在同一个锁内完成，一个等待环中只有一个线程会打破它
+	 *
+	 * @param beanName
+	 * @param currentThread
+	 * @return 是否出现循环等待
+	 */
+	private boolean breakCircularWait(String beanName, Thread currentThread) {
+		synchronized (waitingForCreation) {
+			waitingForCreation.put(currentThread, beanName);
+			String name = beanName;
+			for (int i = 0; i <= waitingForCreation.size(); i++) {
+				Thread creator = singletonCreators.get(name);
+				if (creator == null) {
+					return false;
+				}
+				if (creator == currentThread) {
+					waitingForCreation.remove(currentThread);
+					return true;
+				}
+				name = waitingForCreation.get(creator);
+				if (name == null) {
+					return false;
+				}
 			}
-		} else {
-			log.info("一级缓存拿到【{}】", beanName);
+			return false;
 		}
+	}
+
+	private Object resolveEarlySingletonOfOtherThread(String beanName) {
+		Object singletonObject = singletonObjects.get(beanName);
+		if (singletonObject == null) {
+			singletonObject = getEarlySingleton(beanName, true);
+		}
+		if (singletonObject == null) {
+			throw new BeansException("Requested bean '" + beanName + "' is currently in creation by another thread: Is there an unresolvable circular reference?");
+		}
+		log.info("【{}】与其他线程循环依赖，使用其早期引用", beanName);
 		return singletonObject;
 	}
 
+	/**
+	 * 是否已有完成初始化的单例
+	 *
+	 * @param beanName
+	 * @return
+	 */
+	public boolean containsSingleton(String beanName) {
+		return singletonObjects.containsKey(beanName);
+	}
+
 	@Override
 	public void addSingleton(String beanName, Object singletonObject) {
 		singletonObjects.put(beanName, singletonObject);
@@ -72,9 +251,12 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 	}
 
 	public void destroySingletons() {
-		Set<String> beanNames = disposableBeans.keySet();
+		List<String> beanNames = new ArrayList<>(disposableBeans.keySet());
 		for (String beanName : beanNames) {
 			DisposableBean disposableBean = disposableBeans.remove(beanName);
+			if (disposableBean == null) {
+				continue;
+			}
 			try {
 				disposableBean.destroy();
 			} catch (Exception e) {
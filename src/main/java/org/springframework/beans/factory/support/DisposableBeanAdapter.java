@@ -20,10 +20,26 @@ public class DisposableBeanAdapter implements DisposableBean {
 
 	private final String destroyMethodName;
 
+	//预先解析的销毁方法
+	private final Method destroyMethod;
+
 	public DisposableBeanAdapter(Object bean, String beanName, BeanDefinition beanDefinition) {
 		this.bean = bean;
 		this.beanName = beanName;
 		this.destroyMethodName = beanDefinition.getDestroyMethodName();
+		this.destroyMethod = null;
+	}
+
+	/**
+	 * 使用冻结配置时预先解析的销毁方法
+	 */
+	public DisposableBeanAdapter(Object bean, String beanName, BeanMetadata metadata) {
+		this.bean = bean;
+		this.beanName = beanName;
+		this.destroyMethodName = metadata.getBeanDefinition().getDestroyMethodName();
+		Method resolvedMethod = metadata.getDestroyMethod();
+		//bean可能是代理对象，不是bean的类的实例时在销毁时重新查找
+		this.destroyMethod = resolvedMethod != null && resolvedMethod.getDeclaringClass().isInstance(bean) ? resolvedMethod : null;
 	}
 
 	@Override
@@ -35,7 +51,7 @@ public class DisposableBeanAdapter implements DisposableBean {
 		//避免同时继承自DisposableBean，且自定义方法与DisposableBean方法同名，销毁方法执行两次的情况
 		if (StrUtil.isNotEmpty(destroyMethodName) && !(bean instanceof DisposableBean && "destroy".equals(this.destroyMethodName))) {
 			//执行自定义方法
-			Method destroyMethod = ClassUtil.getPublicMethod(bean.getClass(), destroyMethodName);
+			Method destroyMethod = this.destroyMethod != null ? this.destroyMethod : ClassUtil.getPublicMethod(bean.getClass(), destroyMethodName);
 			if (destroyMethod == null) {
 				throw new BeansException("Couldn't find a destroy method named '" + destroyMethodName + "' on bean with name '" + beanName + "'");
 			}
@@ -3,6 +3,8 @@ package org.springframework.beans.factory.support;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanDefinition;
 
+import java.lang.reflect.Constructor;
+
 /**
  * Bean的实例化策略
  *
@@ -12,4 +14,15 @@ import org.springframework.beans.factory.config.BeanDefinition;
 public interface InstantiationStrategy {
 
 	Object instantiate(BeanDefinition beanDefinition) throws BeansException;
+
+	/**
+	 * 使用指定的构造函数和参数实例化
+	 *
+	 * @param beanDefinition
+	 * @param constructor
+	 * @param args
+	 * @return
+	 * @throws BeansException
+	 */
+	Object instantiate(BeanDefinition beanDefinition, Constructor<?> constructor, Object[] args) throws BeansException;
 }
@@ -0,0 +1,24 @@
+package org.springframework.beans.factory.support;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * 冻结配置时对每个BeanDefinition回调，用于预先解析并缓存创建bean时需要的元数据，如注入字段
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface MergedBeanDefinitionPostProcessor extends BeanPostProcessor {
+
+	/**
+	 * 冻结配置时执行，此时BeanDefinition不会再变化
+	 *
+	 * @param beanDefinition
+	 * @param beanType
+	 * @param beanName
+	 * @throws BeansException
+	 */
+	void postProcessMergedBeanDefinition(BeanDefinition beanDefinition, Class<?> beanType, String beanName) throws BeansException;
+}
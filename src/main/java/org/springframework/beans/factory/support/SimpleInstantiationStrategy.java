@@ -2,7 +2,11 @@ package org.springframework.beans.factory.support;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition.ResolvedConstructor;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 
 /**
@@ -11,8 +15,13 @@ import java.lang.reflect.Constructor;
  */
 public class SimpleInstantiationStrategy implements InstantiationStrategy {
 
+	protected static final Object[] EMPTY_ARGS = new Object[0];
+
+	private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
 	/**
-	 * 简单的bean实例化策略，根据bean的无参构造函数实例化对象
+	 * 简单的bean实例化策略，根据bean的无参构造函数实例化对象。
+	 * 构造函数只解析一次，转换为MethodHandle缓存在BeanDefinition中，换用其他类型的策略后重新解析
 	 *
 	 * @param beanDefinition
 	 * @return
@@ -20,12 +29,63 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
 	 */
 	@Override
 	public Object instantiate(BeanDefinition beanDefinition) throws BeansException {
-		Class beanClass = beanDefinition.getBeanClass();
+		Constructor<?> constructor = beanDefinition.getResolvedConstructor();
+		if (constructor == null || constructor.getParameterCount() != 0) {
+			constructor = resolveDefaultConstructor(beanDefinition);
+		}
+		return instantiate(beanDefinition, constructor, EMPTY_ARGS);
+	}
+
+	@Override
+	public Object instantiate(BeanDefinition beanDefinition, Constructor<?> constructor, Object[] args) throws BeansException {
+		ResolvedConstructor resolved = beanDefinition.getResolvedConstructorHolder();
+		if (resolved == null || !resolved.matches(constructor, getClass())) {
+			MethodHandle constructorHandle = createConstructorHandle(getInstantiatedConstructor(beanDefinition, constructor));
+			resolved = new ResolvedConstructor(constructor, constructorHandle, getClass());
+			beanDefinition.setResolvedConstructorHolder(resolved);
+		}
+		try {
+			return (Object) resolved.getConstructorHandle().invokeExact(args);
+		} catch (Throwable e) {
+			throw new BeansException("Failed to instantiate [" + beanDefinition.getBeanClass().getName() + "]", e);
+		}
+	}
+
+	private Constructor<?> resolveDefaultConstructor(BeanDefinition beanDefinition) throws BeansException {
+		Class<?> beanClass = beanDefinition.getBeanClass();
+		try {
+			return beanClass.getDeclaredConstructor();
+		} catch (NoSuchMethodException e) {
+			throw new BeansException("Failed to instantiate [" + beanClass.getName() + "]: no default constructor found", e);
+		}
+	}
+
+	/**
+	 * 实际调用的构造函数，默认就是bean的类的构造函数
+	 *
+	 * @param beanDefinition
+	 * @param constructor bean的类的构造函数
+	 * @return
+	 * @throws BeansException
+	 */
+	protected Constructor<?> getInstantiatedConstructor(BeanDefinition beanDefinition, Constructor<?> constructor) throws BeansException {
+		return constructor;
+	}
+
+	/**
+	 * 将构造函数转换为(Object[])Object类型的MethodHandle，参数数组按顺序展开为构造函数参数
+	 *
+	 * @param constructor
+	 * @return
+	 * @throws BeansException
+	 */
+	private MethodHandle createConstructorHandle(Constructor<?> constructor) throws BeansException {
 		try {
-			Constructor constructor = beanClass.getDeclaredConstructor();
-			return constructor.newInstance();
-		} catch (Exception e) {
-			throw new BeansException("Failed to instantiate [" + beanClass.getName() + "]", e);
+			constructor.setAccessible(true);
+			MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor);
+			return handle.asSpreader(Object[].class, constructor.getParameterCount()).asType(INSTANTIATOR_TYPE);
+		} catch (IllegalAccessException | RuntimeException e) {
+			throw new BeansException("Failed to access constructor of [" + constructor.getDeclaringClass().getName() + "]", e);
 		}
 	}
 }
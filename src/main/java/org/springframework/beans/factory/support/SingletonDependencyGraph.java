@@ -0,0 +1,187 @@
+package org.springframework.beans.factory.support;
+
+import cn.hutool.core.util.StrUtil;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.annotation.InjectionMetadata;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 单例bean之间的依赖图，依赖来自属性和构造函数参数中的BeanReference、注入元数据中的@Autowired字段和setter方法，
+ * 以及自动注入的构造函数（@Autowired或唯一的有参构造函数）的参数。
+ * 互相依赖（循环依赖）的bean合并为同一个强连通分量，分量之间构成有向无环图
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class SingletonDependencyGraph {
+
+	private final Map<String, Set<String>> dependencies = new HashMap<>();
+
+	private final List<List<String>> components = new ArrayList<>();
+
+	private final Map<String, Integer> componentIndex = new HashMap<>();
+
+	public SingletonDependencyGraph(DefaultListableBeanFactory beanFactory, List<String> singletonNames) {
+		for (String beanName : singletonNames) {
+			dependencies.put(beanName, new LinkedHashSet<>());
+		}
+		for (String beanName : singletonNames) {
+			BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+			Set<String> dependsOn = dependencies.get(beanName);
+			for (PropertyValue propertyValue : beanDefinition.getPropertyValues()) {
+				if (propertyValue.getValue() instanceof BeanReference) {
+					addDependency(dependsOn, ((BeanReference) propertyValue.getValue()).getBeanName());
+				}
+			}
+			if (beanDefinition.hasConstructorArgumentValues()) {
+				ConstructorArgumentValues argumentValues = beanDefinition.getConstructorArgumentValues();
+				List<ConstructorArgumentValues.ValueHolder> valueHolders = new ArrayList<>(argumentValues.getIndexedArgumentValues().values());
+				valueHolders.addAll(argumentValues.getGenericArgumentValues());
+				for (ConstructorArgumentValues.ValueHolder valueHolder : valueHolders) {
+					if (valueHolder.getValue() instanceof BeanReference) {
+						addDependency(dependsOn, ((BeanReference) valueHolder.getValue()).getBeanName());
+					}
+				}
+			}
+			Class<?> beanClass = beanDefinition.getBeanClass();
+			for (BeanPostProcessor processor : beanFactory.getBeanPostProcessors()) {
+				if (processor instanceof AutowiredAnnotationBeanPostProcessor) {
+					InjectionMetadata metadata = ((AutowiredAnnotationBeanPostProcessor) processor).findInjectionMetadata(beanClass);
+					for (InjectionMetadata.InjectedElement element : metadata.getInjectedElements()) {
+						if (element.isBeanDependency()) {
+							addAutowiredDependency(beanFactory, dependsOn, element.getInjectedType(), element.getQualifier());
+						}
+					}
+				}
+			}
+			//所有候选构造函数的参数都算作依赖，多算的依赖最多让bean在同一个任务中创建
+			Constructor<?>[] constructors = beanFactory.determineConstructorsFromBeanPostProcessors(beanClass, beanName);
+			if (constructors != null) {
+				for (Constructor<?> constructor : constructors) {
+					for (Parameter parameter : constructor.getParameters()) {
+						Qualifier qualifier = parameter.getAnnotation(Qualifier.class);
+						addAutowiredDependency(beanFactory, dependsOn, parameter.getType(), qualifier != null ? qualifier.value() : null);
+					}
+				}
+			}
+		}
+		new TarjanSearch().run();
+	}
+
+	private void addAutowiredDependency(DefaultListableBeanFactory beanFactory, Set<String> dependsOn, Class<?> type, String qualifier) {
+		if (StrUtil.isNotEmpty(qualifier)) {
+			addDependency(dependsOn, qualifier);
+		} else {
+			for (String candidate : beanFactory.getBeanNamesForType(type)) {
+				addDependency(dependsOn, candidate);
+			}
+		}
+	}
+
+	private void addDependency(Set<String> dependsOn, String dependency) {
+		//只关心单例之间的依赖，原型bean随依赖它的bean一起创建
+		if (dependencies.containsKey(dependency)) {
+			dependsOn.add(dependency);
+		}
+	}
+
+	/**
+	 * 强连通分量，按依赖在前的拓扑顺序排列
+	 *
+	 * @return
+	 */
+	public List<List<String>> getComponents() {
+		return components;
+	}
+
+	/**
+	 * 该分量直接依赖的其他分量
+	 *
+	 * @param component 分量在getComponents()中的下标
+	 * @return
+	 */
+	public Set<Integer> getComponentDependencies(int component) {
+		Set<Integer> result = new LinkedHashSet<>();
+		for (String beanName : components.get(component)) {
+			for (String dependency : dependencies.get(beanName)) {
+				int dependencyComponent = componentIndex.get(dependency);
+				if (dependencyComponent != component) {
+					result.add(dependencyComponent);
+				}
+			}
+		}
+		return result;
+	}
+
+	public Set<String> getDependencies(String beanName) {
+		return Collections.unmodifiableSet(dependencies.get(beanName));
+	}
+
+	/**
+	 * Tarjan算法求强连通分量，分量产生的顺序即依赖在前的拓扑顺序
+	 */
+	private class TarjanSearch {
+
+		private final Map<String, Integer> index = new HashMap<>();
+
+		private final Map<String, Integer> lowLink = new HashMap<>();
+
+		private final List<String> stack = new ArrayList<>();
+
+		private final Set<String> onStack = new LinkedHashSet<>();
+
+		private int counter;
+
+		void run() {
+			for (String beanName : dependencies.keySet()) {
+				if (!index.containsKey(beanName)) {
+					strongConnect(beanName);
+				}
+			}
+		}
+
+		private void strongConnect(String beanName) {
+			index.put(beanName, counter);
+			lowLink.put(beanName, counter);
+			counter++;
+			stack.add(beanName);
+			onStack.add(beanName);
+
+			for (String dependency : dependencies.get(beanName)) {
+				if (!index.containsKey(dependency)) {
+					strongConnect(dependency);
+					lowLink.put(beanName, Math.min(lowLink.get(beanName), lowLink.get(dependency)));
+				} else if (onStack.contains(dependency)) {
+					lowLink.put(beanName, Math.min(lowLink.get(beanName), index.get(dependency)));
+				}
+			}
+
+			if (lowLink.get(beanName).equals(index.get(beanName))) {
+				List<String> component = new ArrayList<>();
+				String member;
+				do {
+					member = stack.remove(stack.size() - 1);
+					onStack.remove(member);
+					component.add(member);
+					componentIndex.put(member, components.size());
+				} while (!member.equals(beanName));
+				components.add(component);
+			}
+		}
+	}
+}
@@ -11,6 +11,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyValue;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.support.AbstractBeanDefinitionReader;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
@@ -19,6 +20,7 @@ import org.springframework.core.io.ResourceLoader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,11 +34,14 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 
 	public static final String BEAN_ELEMENT = "bean";
 	public static final String PROPERTY_ELEMENT = "property";
+	public static final String CONSTRUCTOR_ARG_ELEMENT = "constructor-arg";
 	public static final String ID_ATTRIBUTE = "id";
 	public static final String NAME_ATTRIBUTE = "name";
 	public static final String CLASS_ATTRIBUTE = "class";
 	public static final String VALUE_ATTRIBUTE = "value";
 	public static final String REF_ATTRIBUTE = "ref";
+	public static final String INDEX_ATTRIBUTE = "index";
+	public static final String TYPE_ATTRIBUTE = "type";
 	public static final String INIT_METHOD_ATTRIBUTE = "init-method";
 	public static final String DESTROY_METHOD_ATTRIBUTE = "destroy-method";
 	public static final String SCOPE_ATTRIBUTE = "scope";
@@ -119,7 +124,13 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 				beanDefinition.setScope(beanScope);
 			}
 
+			List<Element> constructorArgList = bean.elements(CONSTRUCTOR_ARG_ELEMENT);
+			for (Element constructorArg : constructorArgList) {
+				parseConstructorArgElement(constructorArg, beanDefinition);
+			}
+
 			List<Element> propertyList = bean.elements(PROPERTY_ELEMENT);
+			List<PropertyValue> propertyValues = new ArrayList<>(propertyList.size());
 			for (Element property : propertyList) {
 				String propertyNameAttribute = property.attributeValue(NAME_ATTRIBUTE);
 				String propertyValueAttribute = property.attributeValue(VALUE_ATTRIBUTE);
@@ -133,9 +144,9 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 				if (StrUtil.isNotEmpty(propertyRefAttribute)) {
 					value = new BeanReference(propertyRefAttribute);
 				}
-				PropertyValue propertyValue = new PropertyValue(propertyNameAttribute, value);
-				beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
+				propertyValues.add(new PropertyValue(propertyNameAttribute, value));
 			}
+			beanDefinition.getPropertyValues().addPropertyValues(propertyValues);
 			if (getRegistry().containsBeanDefinition(beanName)) {
 				//beanName不能重名
 				throw new BeansException("Duplicate beanName[" + beanName + "] is not allowed");
@@ -146,6 +157,47 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 		}
 	}
 
+	/**
+	 * 解析constructor-arg标签，指定了index的按下标匹配，否则按type、name或顺序匹配
+	 *
+	 * @param constructorArg
+	 * @param beanDefinition
+	 */
+	private void parseConstructorArgElement(Element constructorArg, BeanDefinition beanDefinition) {
+		String indexAttribute = constructorArg.attributeValue(INDEX_ATTRIBUTE);
+		String typeAttribute = constructorArg.attributeValue(TYPE_ATTRIBUTE);
+		String nameAttribute = constructorArg.attributeValue(NAME_ATTRIBUTE);
+		String valueAttribute = constructorArg.attributeValue(VALUE_ATTRIBUTE);
+		String refAttribute = constructorArg.attributeValue(REF_ATTRIBUTE);
+
+		if (StrUtil.isNotEmpty(valueAttribute) && StrUtil.isNotEmpty(refAttribute)) {
+			throw new BeansException("The constructor-arg element cannot have both value and ref attributes");
+		}
+		if (valueAttribute == null && StrUtil.isEmpty(refAttribute)) {
+			throw new BeansException("The constructor-arg element must have a value or ref attribute");
+		}
+		Object value = valueAttribute;
+		if (StrUtil.isNotEmpty(refAttribute)) {
+			value = new BeanReference(refAttribute);
+		}
+		ConstructorArgumentValues.ValueHolder valueHolder = new ConstructorArgumentValues.ValueHolder(
+				value, StrUtil.emptyToNull(typeAttribute), StrUtil.emptyToNull(nameAttribute));
+		if (StrUtil.isNotEmpty(indexAttribute)) {
+			int index;
+			try {
+				index = Integer.parseInt(indexAttribute);
+			} catch (NumberFormatException e) {
+				throw new BeansException("Attribute 'index' of tag 'constructor-arg' must be an integer");
+			}
+			if (index < 0 || beanDefinition.getConstructorArgumentValues().getIndexedArgumentValue(index) != null) {
+				throw new BeansException("Invalid or duplicate index [" + index + "] of tag 'constructor-arg'");
+			}
+			beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(index, valueHolder);
+		} else {
+			beanDefinition.getConstructorArgumentValues().addGenericArgumentValue(valueHolder);
+		}
+	}
+
 	/**
 	 * 扫描注解Component的类，提取信息，组装成BeanDefinition
 	 *
@@ -0,0 +1,63 @@
+package org.springframework.cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 缓存，缓存的值不能为null
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface Cache {
+
+	String getName();
+
+	/**
+	 * 获取缓存的值
+	 *
+	 * @param key
+	 * @return 没有缓存或已过期时为null
+	 */
+	Object get(Object key);
+
+	/**
+	 * 获取缓存的值，没有时调用valueLoader加载并放入缓存。
+	 * 同一个key同时只加载一次，其他线程等待加载结果
+	 *
+	 * @param key
+	 * @param valueLoader
+	 * @return
+	 * @throws ValueRetrievalException valueLoader抛出异常
+	 */
+	<T> T get(Object key, Callable<T> valueLoader) throws ValueRetrievalException;
+
+	void put(Object key, Object value);
+
+	void evict(Object key);
+
+	void clear();
+
+	/**
+	 * 命中、未命中、淘汰次数的快照
+	 *
+	 * @return
+	 */
+	CacheStats getStats();
+
+	/**
+	 * valueLoader加载值时抛出的异常，cause为原异常
+	 */
+	class ValueRetrievalException extends RuntimeException {
+
+		private final Object key;
+
+		public ValueRetrievalException(Object key, Throwable cause) {
+			super("Value for key '" + key + "' could not be loaded", cause);
+			this.key = key;
+		}
+
+		public Object getKey() {
+			return key;
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package org.springframework.cache;
+
+import java.util.Collection;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface CacheManager {
+
+	/**
+	 * 获取缓存，不存在时创建
+	 *
+	 * @param name
+	 * @return
+	 */
+	Cache getCache(String name);
+
+	Collection<String> getCacheNames();
+}
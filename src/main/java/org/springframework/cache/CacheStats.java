@@ -0,0 +1,62 @@
+package org.springframework.cache;
+
+/**
+ * 缓存统计信息的快照
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public final class CacheStats {
+
+	private final long hitCount;
+
+	private final long missCount;
+
+	private final long loadCount;
+
+	private final long evictionCount;
+
+	public CacheStats(long hitCount, long missCount, long loadCount, long evictionCount) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.loadCount = loadCount;
+		this.evictionCount = evictionCount;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * 调用valueLoader的次数，同一个key同时未命中时只加载一次
+	 *
+	 * @return
+	 */
+	public long getLoadCount() {
+		return loadCount;
+	}
+
+	/**
+	 * 因容量或过期被淘汰的次数，不包括主动删除
+	 *
+	 * @return
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public double getHitRate() {
+		long requestCount = hitCount + missCount;
+		return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount
+				+ ", loadCount=" + loadCount + ", evictionCount=" + evictionCount + "}";
+	}
+}
@@ -0,0 +1,29 @@
+package org.springframework.cache.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 方法正常返回后删除缓存，key为方法参数
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CacheEvict {
+
+	/**
+	 * 缓存名称
+	 */
+	String value();
+
+	/**
+	 * 是否清空整个缓存
+	 */
+	boolean allEntries() default false;
+}
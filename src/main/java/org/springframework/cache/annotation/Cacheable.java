@@ -0,0 +1,24 @@
+package org.springframework.cache.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 缓存方法的返回值，key为方法参数，缓存中有值时不再执行方法
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Cacheable {
+
+	/**
+	 * 缓存名称
+	 */
+	String value();
+}
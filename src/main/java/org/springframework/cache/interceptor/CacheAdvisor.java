@@ -0,0 +1,71 @@
+package org.springframework.cache.interceptor;
+
+import org.aopalliance.aop.Advice;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+
+/**
+ * 匹配有@Cacheable或@CacheEvict注解的方法，注册为bean后由DefaultAdvisorAutoProxyCreator自动代理
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class CacheAdvisor implements PointcutAdvisor, Pointcut, ClassFilter, MethodMatcher, Ordered {
+
+	private final CacheInterceptor cacheInterceptor = new CacheInterceptor();
+
+	private int order = Ordered.LOWEST_PRECEDENCE;
+
+	public void setCacheManager(CacheManager cacheManager) {
+		cacheInterceptor.setCacheManager(cacheManager);
+	}
+
+	public CacheManager getCacheManager() {
+		return cacheInterceptor.getCacheManager();
+	}
+
+	@Override
+	public Pointcut getPointcut() {
+		return this;
+	}
+
+	@Override
+	public Advice getAdvice() {
+		return cacheInterceptor;
+	}
+
+	@Override
+	public ClassFilter getClassFilter() {
+		return this;
+	}
+
+	@Override
+	public MethodMatcher getMethodMatcher() {
+		return this;
+	}
+
+	@Override
+	public boolean matches(Class<?> clazz) {
+		return true;
+	}
+
+	@Override
+	public boolean matches(Method method, Class<?> targetClass) {
+		return cacheInterceptor.getCacheOperation(method, targetClass) != null;
+	}
+
+	public void setOrder(int order) {
+		this.order = order;
+	}
+
+	@Override
+	public int getOrder() {
+		return order;
+	}
+}
@@ -0,0 +1,133 @@
+package org.springframework.cache.interceptor;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.support.LruCacheManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 处理@Cacheable和@CacheEvict的拦截器，key为方法参数。
+ * 返回值为null时也会缓存；方法抛出异常时不缓存、不删除缓存，原异常继续抛出
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class CacheInterceptor implements MethodInterceptor {
+
+	/**
+	 * 代表null的返回值，缓存中不能存放null
+	 */
+	private static final Object NULL_VALUE = new Object();
+
+	private static final CacheOperation NO_OPERATION = new CacheOperation(null, null);
+
+	private CacheManager cacheManager = new LruCacheManager();
+
+	/**
+	 * 目标类 -> 方法 -> 缓存注解
+	 */
+	private final Map<Class<?>, Map<Method, CacheOperation>> operationCache = new ConcurrentHashMap<>();
+
+	public void setCacheManager(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	public CacheManager getCacheManager() {
+		return cacheManager;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Object target = invocation.getThis();
+		Method method = invocation.getMethod();
+		CacheOperation operation = getCacheOperation(method, target != null ? target.getClass() : method.getDeclaringClass());
+		if (operation == null) {
+			return invocation.proceed();
+		}
+		Object key = SimpleKey.generateKey(invocation.getArguments());
+		Object result;
+		Cacheable cacheable = operation.getCacheable();
+		if (cacheable != null) {
+			Cache cache = cacheManager.getCache(cacheable.value());
+			try {
+				result = cache.get(key, () -> {
+					try {
+						Object returnValue = invocation.proceed();
+						return returnValue != null ? returnValue : NULL_VALUE;
+					} catch (Throwable ex) {
+						throw new ThrowableWrapper(ex);
+					}
+				});
+			} catch (Cache.ValueRetrievalException ex) {
+				if (ex.getCause() instanceof ThrowableWrapper) {
+					throw ex.getCause().getCause();
+				}
+				throw ex;
+			}
+			if (result == NULL_VALUE) {
+				result = null;
+			}
+		} else {
+			result = invocation.proceed();
+		}
+
+		CacheEvict cacheEvict = operation.getCacheEvict();
+		if (cacheEvict != null) {
+			Cache cache = cacheManager.getCache(cacheEvict.value());
+			if (cacheEvict.allEntries()) {
+				cache.clear();
+			} else {
+				cache.evict(key);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 获取方法上的缓存注解，注解可以在接口方法或目标类的方法上
+	 *
+	 * @param method
+	 * @param targetClass
+	 * @return 没有缓存注解时为null
+	 */
+	CacheOperation getCacheOperation(Method method, Class<?> targetClass) {
+		Map<Method, CacheOperation> operations = operationCache.get(targetClass);
+		if (operations == null) {
+			operations = operationCache.computeIfAbsent(targetClass, clazz -> new ConcurrentHashMap<>());
+		}
+		CacheOperation operation = operations.get(method);
+		if (operation == null) {
+			operation = operations.computeIfAbsent(method, m -> findCacheOperation(m, targetClass));
+		}
+		return operation != NO_OPERATION ? operation : null;
+	}
+
+	private CacheOperation findCacheOperation(Method method, Class<?> targetClass) {
+		Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+		Cacheable cacheable = specificMethod.getAnnotation(Cacheable.class);
+		CacheEvict cacheEvict = specificMethod.getAnnotation(CacheEvict.class);
+		if (cacheable == null && cacheEvict == null && specificMethod != method) {
+			cacheable = method.getAnnotation(Cacheable.class);
+			cacheEvict = method.getAnnotation(CacheEvict.class);
+		}
+		return cacheable != null || cacheEvict != null ? new CacheOperation(cacheable, cacheEvict) : NO_OPERATION;
+	}
+
+	/**
+	 * 包装被代理方法抛出的异常，使其可以通过Callable传出
+	 */
+	private static final class ThrowableWrapper extends Exception {
+
+		private ThrowableWrapper(Throwable original) {
+			super(original);
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package org.springframework.cache.interceptor;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+
+/**
+ * 方法上的缓存注解
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+final class CacheOperation {
+
+	private final Cacheable cacheable;
+
+	private final CacheEvict cacheEvict;
+
+	CacheOperation(Cacheable cacheable, CacheEvict cacheEvict) {
+		this.cacheable = cacheable;
+		this.cacheEvict = cacheEvict;
+	}
+
+	Cacheable getCacheable() {
+		return cacheable;
+	}
+
+	CacheEvict getCacheEvict() {
+		return cacheEvict;
+	}
+}
@@ -0,0 +1,57 @@
+package org.springframework.cache.interceptor;
+
+import java.util.Arrays;
+
+/**
+ * 多个方法参数组成的缓存key
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public final class SimpleKey {
+
+	public static final SimpleKey EMPTY = new SimpleKey();
+
+	private final Object[] params;
+
+	private final int hashCode;
+
+	public SimpleKey(Object... params) {
+		this.params = params.clone();
+		this.hashCode = Arrays.deepHashCode(this.params);
+	}
+
+	/**
+	 * 没有参数时为EMPTY，只有一个参数时直接使用该参数，否则为SimpleKey
+	 *
+	 * @param params
+	 * @return
+	 */
+	public static Object generateKey(Object... params) {
+		if (params == null || params.length == 0) {
+			return EMPTY;
+		}
+		if (params.length == 1) {
+			Object param = params[0];
+			if (param != null && !param.getClass().isArray()) {
+				return param;
+			}
+		}
+		return new SimpleKey(params);
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return this == other || (other instanceof SimpleKey && Arrays.deepEquals(params, ((SimpleKey) other).params));
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return "SimpleKey " + Arrays.deepToString(params);
+	}
+}
@@ -0,0 +1,302 @@
+package org.springframework.cache.support;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 按最近最少使用淘汰的缓存，可以设置写入后的过期时间。
+ * 超过maximumSize时淘汰最久没有访问的值，过期的值在读取时删除。
+ * 同一个key同时未命中时只有一个线程执行valueLoader，其他线程等待其结果，避免缓存击穿。
+ * <p>
+ * 值保存在ConcurrentHashMap中，读取不加锁；访问记录先放入缓冲区，写入时或缓冲区积累到一定数量时
+ * 在淘汰锁内批量更新访问顺序。缓冲区满时丢弃访问记录，因此淘汰顺序是近似的LRU
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class LruCache implements Cache {
+
+	//缓冲区积累到该数量时尝试更新访问顺序
+	private static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+
+	//缓冲区最多保存的访问记录数量，超过时丢弃
+	private static final int READ_BUFFER_MAX_SIZE = 256;
+
+	private final String name;
+
+	private final int maximumSize;
+
+	private final long expireAfterWriteNanos;
+
+	private final Map<Object, Entry> store = new ConcurrentHashMap<>();
+
+	/**
+	 * 按访问顺序排列的key，只在持有evictionLock时访问
+	 */
+	private final LinkedHashMap<Object, Entry> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	/**
+	 * 尚未更新到访问顺序中的读取记录
+	 */
+	private final Queue<Object> readBuffer = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger readBufferSize = new AtomicInteger();
+
+	/**
+	 * 正在加载的key
+	 */
+	private final Map<Object, Loading> loading = new ConcurrentHashMap<>();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder loadCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * @param name
+	 * @param maximumSize
+	 * @param expireAfterWriteMillis 写入后的过期时间，小于等于0时不过期
+	 */
+	public LruCache(String name, int maximumSize, long expireAfterWriteMillis) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("Maximum size must be positive");
+		}
+		this.name = name;
+		this.maximumSize = maximumSize;
+		this.expireAfterWriteNanos = expireAfterWriteMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(expireAfterWriteMillis) : 0;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public int size() {
+		return store.size();
+	}
+
+	@Override
+	public Object get(Object key) {
+		Object value = lookup(key);
+		if (value != null) {
+			hitCount.increment();
+		} else {
+			missCount.increment();
+		}
+		return value;
+	}
+
+	@Override
+	public <T> T get(Object key, Callable<T> valueLoader) throws ValueRetrievalException {
+		Object value = lookup(key);
+		if (value != null) {
+			hitCount.increment();
+			return (T) value;
+		}
+		missCount.increment();
+		Loading current = loading.get(key);
+		if (current == null) {
+			Loading newLoading = new Loading(key, valueLoader);
+			current = loading.putIfAbsent(key, newLoading);
+			if (current == null) {
+				//由当前线程加载
+				current = newLoading;
+				try {
+					newLoading.task.run();
+				} finally {
+					loading.remove(key, newLoading);
+				}
+			}
+		}
+		try {
+			return (T) current.task.get();
+		} catch (ExecutionException ex) {
+			throw new ValueRetrievalException(key, ex.getCause());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ValueRetrievalException(key, ex);
+		}
+	}
+
+	private Object load(Object key, Callable<?> valueLoader, Loading current) throws Exception {
+		//其他线程可能在本线程查找之后、开始加载之前刚加载完
+		Object value = lookup(key);
+		if (value != null) {
+			return value;
+		}
+		loadCount.increment();
+		value = valueLoader.call();
+		if (value != null) {
+			evictionLock.lock();
+			try {
+				//加载期间key被删除时，加载的值可能已经过时，只返回给等待的线程，不放入缓存
+				if (!current.invalidated) {
+					doPut(key, value);
+				}
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+		return value;
+	}
+
+	private Object lookup(Object key) {
+		Entry entry = store.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (expireAfterWriteNanos > 0 && System.nanoTime() - entry.writeNanos >= expireAfterWriteNanos) {
+			evictionLock.lock();
+			try {
+				if (store.remove(key, entry)) {
+					accessOrder.remove(key);
+					evictionCount.increment();
+				}
+			} finally {
+				evictionLock.unlock();
+			}
+			return null;
+		}
+		recordRead(key);
+		return entry.value;
+	}
+
+	private void recordRead(Object key) {
+		if (readBufferSize.get() < READ_BUFFER_MAX_SIZE) {
+			readBufferSize.incrementAndGet();
+			readBuffer.offer(key);
+		}
+		//其他线程持有锁时跳过，由之后的读取或写入更新
+		if (readBufferSize.get() >= READ_BUFFER_DRAIN_THRESHOLD && evictionLock.tryLock()) {
+			try {
+				drainReadBuffer();
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * 将读取记录更新到访问顺序中，需要持有evictionLock
+	 */
+	private void drainReadBuffer() {
+		Object key;
+		while ((key = readBuffer.poll()) != null) {
+			readBufferSize.decrementAndGet();
+			//访问顺序的LinkedHashMap在get时将key移到末尾
+			accessOrder.get(key);
+		}
+	}
+
+	@Override
+	public void put(Object key, Object value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Cache value must not be null");
+		}
+		evictionLock.lock();
+		try {
+			doPut(key, value);
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	/**
+	 * 写入并淘汰超出容量的值，需要持有evictionLock
+	 */
+	private void doPut(Object key, Object value) {
+		Entry entry = new Entry(value, expireAfterWriteNanos > 0 ? System.nanoTime() : 0);
+		drainReadBuffer();
+		store.put(key, entry);
+		accessOrder.put(key, entry);
+		while (accessOrder.size() > maximumSize) {
+			Map.Entry<Object, Entry> eldest = accessOrder.entrySet().iterator().next();
+			accessOrder.remove(eldest.getKey());
+			store.remove(eldest.getKey(), eldest.getValue());
+			evictionCount.increment();
+		}
+	}
+
+	@Override
+	public void evict(Object key) {
+		evictionLock.lock();
+		try {
+			store.remove(key);
+			accessOrder.remove(key);
+			Loading current = loading.remove(key);
+			if (current != null) {
+				current.invalidated = true;
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		evictionLock.lock();
+		try {
+			store.clear();
+			accessOrder.clear();
+			for (Loading current : loading.values()) {
+				current.invalidated = true;
+			}
+			loading.clear();
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	@Override
+	public CacheStats getStats() {
+		return new CacheStats(hitCount.sum(), missCount.sum(), loadCount.sum(), evictionCount.sum());
+	}
+
+	private static final class Entry {
+
+		private final Object value;
+
+		private final long writeNanos;
+
+		private Entry(Object value, long writeNanos) {
+			this.value = value;
+			this.writeNanos = writeNanos;
+		}
+	}
+
+	/**
+	 * 一次正在进行的加载，key被删除时标记为失效
+	 */
+	private final class Loading {
+
+		private final FutureTask<Object> task;
+
+		private volatile boolean invalidated;
+
+		private Loading(Object key, Callable<?> valueLoader) {
+			this.task = new FutureTask<>(() -> load(key, valueLoader, this));
+		}
+	}
+}
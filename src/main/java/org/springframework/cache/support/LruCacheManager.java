@@ -0,0 +1,57 @@
+package org.springframework.cache.support;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按需创建LruCache，所有缓存使用相同的容量和过期时间
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class LruCacheManager implements CacheManager {
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+	private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+	private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+	private long expireAfterWriteMillis;
+
+	public void setMaximumSize(int maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * 写入后的过期时间，小于等于0时不过期
+	 *
+	 * @param expireAfterWriteMillis
+	 */
+	public void setExpireAfterWriteMillis(long expireAfterWriteMillis) {
+		this.expireAfterWriteMillis = expireAfterWriteMillis;
+	}
+
+	@Override
+	public Cache getCache(String name) {
+		Cache cache = caches.get(name);
+		if (cache == null) {
+			cache = caches.computeIfAbsent(name, this::createCache);
+		}
+		return cache;
+	}
+
+	protected Cache createCache(String name) {
+		return new LruCache(name, maximumSize, expireAfterWriteMillis);
+	}
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return Collections.unmodifiableSet(caches.keySet());
+	}
+}
@@ -5,32 +5,202 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.OrderComparator;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * 监听器注册表是写时复制的不可变快照：添加、删除监听器时加锁生成新快照，发布事件时无锁读取。
+ * 注册监听器时解析一次监听的事件类型（SmartApplicationListener自己判断），监听器按Ordered排序，优先级相同时按注册顺序；
+ * 每个快照按事件类型缓存感兴趣的监听器，发布事件时只需一次查表和遍历数组
+ *
  * @author derekyi
  * @date 2020/12/5
  */
 public abstract class AbstractApplicationEventMulticaster implements ApplicationEventMulticaster, BeanFactoryAware {
 
-	public final Set<ApplicationListener<ApplicationEvent>> applicationListeners = new HashSet<>();
+	private volatile ListenerRegistry registry = ListenerRegistry.EMPTY;
 
 	private BeanFactory beanFactory;
 
 	@Override
 	public void addApplicationListener(ApplicationListener<?> listener) {
-		applicationListeners.add((ApplicationListener<ApplicationEvent>) listener);
+		Class<?> eventType = resolveEventType(listener);
+		synchronized (this) {
+			this.registry = this.registry.with((ApplicationListener<ApplicationEvent>) listener, eventType);
+		}
 	}
 
 	@Override
 	public void removeApplicationListener(ApplicationListener<?> listener) {
-		applicationListeners.remove(listener);
+		synchronized (this) {
+			this.registry = this.registry.without(listener);
+		}
+	}
+
+	@Override
+	public void removeBatchApplicationListener(BatchApplicationListener<?> listener) {
+		BatchingApplicationListenerAdapter<?> registered = null;
+		synchronized (this) {
+			for (ApplicationListener<ApplicationEvent> candidate : this.registry.listeners) {
+				if (candidate instanceof BatchingApplicationListenerAdapter
+						&& ((BatchingApplicationListenerAdapter<?>) candidate).getDelegate().equals(listener)) {
+					registered = (BatchingApplicationListenerAdapter<?>) candidate;
+					this.registry = this.registry.without(registered);
+					break;
+				}
+			}
+		}
+		//在锁外关闭，处理剩余的事件并关闭定时线程
+		if (registered != null) {
+			registered.close();
+		}
+	}
+
+	/**
+	 * 所有监听器，按发布事件时的调用顺序
+	 *
+	 * @return
+	 */
+	public List<ApplicationListener<ApplicationEvent>> getApplicationListeners() {
+		return Collections.unmodifiableList(Arrays.asList(this.registry.listeners));
+	}
+
+	/**
+	 * 获取对该事件感兴趣的监听器，返回的数组调用方不能修改
+	 *
+	 * @param event
+	 * @return
+	 */
+	protected ApplicationListener<ApplicationEvent>[] getApplicationListeners(ApplicationEvent event) {
+		return this.registry.retrieve(event.getClass());
+	}
+
+	/**
+	 * 解析监听器监听的事件类型，无法解析时（如使用原始类型）监听所有事件
+	 *
+	 * @param listener
+	 * @return
+	 */
+	protected Class<?> resolveEventType(ApplicationListener<?> listener) {
+		Class<?> eventType = GenericTypeResolver.resolveTypeArgument(listener.getClass(), ApplicationListener.class);
+		return eventType != null ? eventType : ApplicationEvent.class;
 	}
 
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
 		this.beanFactory = beanFactory;
 	}
+
+	/**
+	 * 监听器快照，创建后不再修改
+	 */
+	private static final class ListenerRegistry {
+
+		private static final ListenerRegistry EMPTY = new ListenerRegistry(new ApplicationListener[0], new Class<?>[0]);
+
+		private final ApplicationListener<ApplicationEvent>[] listeners;
+
+		private final Class<?>[] eventTypes;
+
+		/**
+		 * 事件类型 -> 感兴趣的监听器
+		 */
+		private final Map<Class<?>, ApplicationListener<ApplicationEvent>[]> retrieverCache = new ConcurrentHashMap<>();
+
+		private ListenerRegistry(ApplicationListener<ApplicationEvent>[] listeners, Class<?>[] eventTypes) {
+			this.listeners = listeners;
+			this.eventTypes = eventTypes;
+		}
+
+		private ApplicationListener<ApplicationEvent>[] retrieve(Class<?> eventClass) {
+			ApplicationListener<ApplicationEvent>[] matched = retrieverCache.get(eventClass);
+			if (matched == null) {
+				matched = retrieverCache.computeIfAbsent(eventClass, this::match);
+			}
+			return matched;
+		}
+
+		private ApplicationListener<ApplicationEvent>[] match(Class<?> eventClass) {
+			List<ApplicationListener<ApplicationEvent>> matched = new ArrayList<>();
+			for (int i = 0; i < listeners.length; i++) {
+				if (supportsEvent(listeners[i], eventTypes[i], eventClass)) {
+					matched.add(listeners[i]);
+				}
+			}
+			return matched.toArray(new ApplicationListener[0]);
+		}
+
+		private boolean supportsEvent(ApplicationListener<ApplicationEvent> listener, Class<?> listenerEventType, Class<?> eventClass) {
+			if (listener instanceof SmartApplicationListener) {
+				return ((SmartApplicationListener) listener).supportsEventType((Class<? extends ApplicationEvent>) eventClass);
+			}
+			return listenerEventType.isAssignableFrom(eventClass);
+		}
+
+		private ListenerRegistry with(ApplicationListener<ApplicationEvent> listener, Class<?> eventType) {
+			if (indexOf(listener) >= 0) {
+				return this;
+			}
+			int size = listeners.length;
+			Entry[] entries = new Entry[size + 1];
+			for (int i = 0; i < size; i++) {
+				entries[i] = new Entry(listeners[i], eventTypes[i]);
+			}
+			entries[size] = new Entry(listener, eventType);
+			//稳定排序，优先级相同时保持注册顺序
+			Arrays.sort(entries, Comparator.comparingInt(entry -> OrderComparator.getOrder(entry.listener)));
+
+			ApplicationListener<ApplicationEvent>[] newListeners = new ApplicationListener[size + 1];
+			Class<?>[] newEventTypes = new Class<?>[size + 1];
+			for (int i = 0; i < entries.length; i++) {
+				newListeners[i] = entries[i].listener;
+				newEventTypes[i] = entries[i].eventType;
+			}
+			return new ListenerRegistry(newListeners, newEventTypes);
+		}
+
+		private ListenerRegistry without(ApplicationListener<?> listener) {
+			int index = indexOf(listener);
+			if (index < 0) {
+				return this;
+			}
+			int size = listeners.length;
+			ApplicationListener<ApplicationEvent>[] newListeners = new ApplicationListener[size - 1];
+			Class<?>[] newEventTypes = new Class<?>[size - 1];
+			System.arraycopy(listeners, 0, newListeners, 0, index);
+			System.arraycopy(listeners, index + 1, newListeners, index, size - index - 1);
+			System.arraycopy(eventTypes, 0, newEventTypes, 0, index);
+			System.arraycopy(eventTypes, index + 1, newEventTypes, index, size - index - 1);
+			return new ListenerRegistry(newListeners, newEventTypes);
+		}
+
+		private int indexOf(ApplicationListener<?> listener) {
+			for (int i = 0; i < listeners.length; i++) {
+				if (listeners[i].equals(listener)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+	private static final class Entry {
+
+		private final ApplicationListener<ApplicationEvent> listener;
+
+		private final Class<?> eventType;
+
+		private Entry(ApplicationListener<ApplicationEvent> listener, Class<?> eventType) {
+			this.listener = listener;
+			this.eventType = eventType;
+		}
+	}
 }
@@ -13,6 +13,22 @@ public interface ApplicationEventMulticaster {
 
 	void removeApplicationListener(ApplicationListener<?> listener);
 
+	/**
+	 * 添加批量接收事件的监听器
+	 *
+	 * @param listener
+	 */
+	default void addBatchApplicationListener(BatchApplicationListener<?> listener) {
+		addApplicationListener(new BatchingApplicationListenerAdapter<>(listener));
+	}
+
+	/**
+	 * 删除批量接收事件的监听器，并处理已注册的适配器中剩余的事件
+	 *
+	 * @param listener
+	 */
+	void removeBatchApplicationListener(BatchApplicationListener<?> listener);
+
 	void multicastEvent(ApplicationEvent event);
 
 }
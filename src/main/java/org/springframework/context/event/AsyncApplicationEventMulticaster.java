@@ -0,0 +1,309 @@
+package org.springframework.context.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异步的事件发布者，注册为名称为applicationEventMulticaster的bean即可替换默认的发布者。
+ * 有@AsyncListener注解的监听器提交到线程池执行，发布事件的线程不再等待这些监听器，其他监听器仍同步执行。
+ * 等待执行和正在执行的监听器调用数不超过queueCapacity，超过后按backpressurePolicy处理。
+ * 异步执行的监听器调用互相隔离，异常交给ErrorHandler处理，没有设置ErrorHandler时记录日志；
+ * 在发布事件的线程中执行的监听器与SimpleApplicationEventMulticaster相同，没有设置ErrorHandler时异常抛给发布者
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+@Slf4j
+public class AsyncApplicationEventMulticaster extends SimpleApplicationEventMulticaster implements DisposableBean {
+
+	public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+	/**
+	 * 队列已满时的处理策略
+	 */
+	public enum BackpressurePolicy {
+		/**
+		 * 阻塞发布事件的线程直到队列有空位
+		 */
+		BLOCK,
+		/**
+		 * 在发布事件的线程中直接执行监听器
+		 */
+		CALLER_RUNS,
+		/**
+		 * 丢弃该次监听器调用
+		 */
+		DISCARD,
+		/**
+		 * 抛出RejectedExecutionException
+		 */
+		ABORT
+	}
+
+	private final Map<Class<?>, Boolean> asyncListenerCache = new ConcurrentHashMap<>();
+
+	private Executor executor;
+
+	private boolean ownsExecutor;
+
+	private boolean useVirtualThreads = true;
+
+	private int concurrency = Runtime.getRuntime().availableProcessors();
+
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+	private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+
+	private long shutdownTimeoutMillis = 5000;
+
+	private volatile Semaphore permits;
+
+	public AsyncApplicationEventMulticaster() {
+	}
+
+	public AsyncApplicationEventMulticaster(BeanFactory beanFactory) {
+		this();
+		setBeanFactory(beanFactory);
+	}
+
+	/**
+	 * 设置执行监听器的线程池，由调用方负责关闭；没有设置时创建默认的线程池，销毁bean时关闭
+	 *
+	 * @param executor
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+		this.ownsExecutor = false;
+	}
+
+	public Executor getExecutor() {
+		Executor current = this.executor;
+		if (current == null) {
+			synchronized (this) {
+				if (this.executor == null) {
+					this.executor = createDefaultExecutor();
+					this.ownsExecutor = true;
+				}
+				current = this.executor;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * 默认线程池是否优先使用虚拟线程（JDK21及以上）
+	 *
+	 * @param useVirtualThreads
+	 */
+	public void setUseVirtualThreads(boolean useVirtualThreads) {
+		this.useVirtualThreads = useVirtualThreads;
+	}
+
+	/**
+	 * 不使用虚拟线程时默认线程池的线程数
+	 *
+	 * @param concurrency
+	 */
+	public void setConcurrency(int concurrency) {
+		if (concurrency <= 0) {
+			throw new IllegalArgumentException("Concurrency must be positive");
+		}
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * 开始异步分发后不能再修改，否则正在执行的调用会把许可归还到替换前的Semaphore
+	 *
+	 * @param queueCapacity
+	 */
+	public synchronized void setQueueCapacity(int queueCapacity) {
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("Queue capacity must be positive");
+		}
+		if (this.permits != null) {
+			throw new IllegalStateException("Cannot change queue capacity after dispatch has started");
+		}
+		this.queueCapacity = queueCapacity;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setBackpressurePolicy(BackpressurePolicy backpressurePolicy) {
+		this.backpressurePolicy = backpressurePolicy;
+	}
+
+	public BackpressurePolicy getBackpressurePolicy() {
+		return backpressurePolicy;
+	}
+
+	public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+		this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+	}
+
+	/**
+	 * 等待执行和正在执行的异步监听器调用数
+	 *
+	 * @return
+	 */
+	public int getPendingCount() {
+		Semaphore semaphore = this.permits;
+		return semaphore != null ? queueCapacity - semaphore.availablePermits() : 0;
+	}
+
+	@Override
+	public void multicastEvent(ApplicationEvent event) {
+		for (ApplicationListener<ApplicationEvent> applicationListener : getApplicationListeners(event)) {
+			if (isAsyncListener(applicationListener)) {
+				dispatchAsync(applicationListener, event);
+			} else {
+				invokeListener(applicationListener, event);
+			}
+		}
+	}
+
+	/**
+	 * 监听器是否可以异步执行
+	 *
+	 * @param applicationListener
+	 * @return
+	 */
+	protected boolean isAsyncListener(ApplicationListener<?> applicationListener) {
+		return asyncListenerCache.computeIfAbsent(applicationListener.getClass(), clazz -> clazz.isAnnotationPresent(AsyncListener.class));
+	}
+
+	private void dispatchAsync(ApplicationListener<ApplicationEvent> applicationListener, ApplicationEvent event) {
+		Semaphore semaphore = getPermits();
+		if (!acquire(semaphore, applicationListener, event)) {
+			return;
+		}
+		try {
+			getExecutor().execute(() -> {
+				try {
+					invokeListener(applicationListener, event);
+				} catch (Throwable ex) {
+					//没有设置ErrorHandler或ErrorHandler抛出异常，异常无法传给发布者
+					log.error("事件监听器{}处理事件{}出错", applicationListener, event, ex);
+				} finally {
+					semaphore.release();
+				}
+			});
+		} catch (RejectedExecutionException ex) {
+			//线程池已关闭或拒绝任务
+			semaphore.release();
+			if (backpressurePolicy == BackpressurePolicy.CALLER_RUNS) {
+				invokeListener(applicationListener, event);
+			} else if (backpressurePolicy == BackpressurePolicy.DISCARD) {
+				log.warn("线程池拒绝执行，丢弃事件{}的监听器{}", event, applicationListener);
+			} else {
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * 占用队列的一个位置，队列已满时按策略处理
+	 *
+	 * @return 是否需要提交到线程池
+	 */
+	private boolean acquire(Semaphore semaphore, ApplicationListener<ApplicationEvent> applicationListener, ApplicationEvent event) {
+		if (semaphore.tryAcquire()) {
+			return true;
+		}
+		switch (backpressurePolicy) {
+			case BLOCK:
+				try {
+					semaphore.acquire();
+					return true;
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new RejectedExecutionException("Interrupted while waiting for event queue", ex);
+				}
+			case CALLER_RUNS:
+				invokeListener(applicationListener, event);
+				return false;
+			case DISCARD:
+				log.warn("事件队列已满，丢弃事件{}的监听器{}", event, applicationListener);
+				return false;
+			default:
+				throw new RejectedExecutionException("Event queue is full (capacity " + queueCapacity + "), listener: " + applicationListener);
+		}
+	}
+
+	private Semaphore getPermits() {
+		Semaphore semaphore = this.permits;
+		if (semaphore == null) {
+			synchronized (this) {
+				if (this.permits == null) {
+					this.permits = new Semaphore(queueCapacity);
+				}
+				semaphore = this.permits;
+			}
+		}
+		return semaphore;
+	}
+
+	/**
+	 * 创建默认的线程池，优先使用虚拟线程，不支持时使用固定大小的守护线程池
+	 *
+	 * @return
+	 */
+	protected ExecutorService createDefaultExecutor() {
+		if (useVirtualThreads) {
+			try {
+				Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+				log.info("事件监听器使用虚拟线程执行");
+				return (ExecutorService) method.invoke(null);
+			} catch (ReflectiveOperationException ex) {
+				//JDK版本低于21
+			}
+		}
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "event-multicaster-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		return Executors.newFixedThreadPool(concurrency, threadFactory);
+	}
+
+	/**
+	 * 关闭默认的线程池，等待已提交的监听器执行完
+	 *
+	 * @throws Exception
+	 */
+	@Override
+	public void destroy() throws Exception {
+		Executor current;
+		synchronized (this) {
+			current = this.executor;
+			if (!ownsExecutor || !(current instanceof ExecutorService)) {
+				return;
+			}
+			this.executor = null;
+			this.ownsExecutor = false;
+		}
+		ExecutorService executorService = (ExecutorService) current;
+		executorService.shutdown();
+		if (!executorService.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+			log.warn("事件监听器在{}ms内没有执行完，强制关闭", shutdownTimeoutMillis);
+			executorService.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package org.springframework.context.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记监听器可以在发布事件的线程之外执行。
+ * AsyncApplicationEventMulticaster只把有该注解的监听器提交到线程池，其他监听器仍在发布事件的线程中同步执行
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface AsyncListener {
+
+}
@@ -0,0 +1,52 @@
+package org.springframework.context.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.EventListener;
+import java.util.List;
+
+/**
+ * 批量接收事件的监听器，事件先缓存起来，数量达到batchSize或距第一个事件超过batchWindowMillis时一起交给监听器。
+ * getCoalescingKey返回非null时，同一个key只保留最新的事件，适用于只关心最新状态的事件，如配置变更、缓存失效。
+ * 注册为bean即可，容器通过BatchingApplicationListenerAdapter注册到事件发布者
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface BatchApplicationListener<E extends ApplicationEvent> extends EventListener {
+
+	/**
+	 * 处理一批事件，按收到的顺序排列；合并后的事件位于最后一次收到的位置
+	 *
+	 * @param events
+	 */
+	void onApplicationEvents(List<E> events);
+
+	/**
+	 * 一批最多包含的事件数
+	 *
+	 * @return
+	 */
+	default int getBatchSize() {
+		return 100;
+	}
+
+	/**
+	 * 从收到一批中的第一个事件起，最多等待的时间
+	 *
+	 * @return
+	 */
+	default long getBatchWindowMillis() {
+		return 100;
+	}
+
+	/**
+	 * 合并事件的key，同一批中key相同的事件只保留最新的；返回null时不合并
+	 *
+	 * @param event
+	 * @return
+	 */
+	default Object getCoalescingKey(E event) {
+		return null;
+	}
+}
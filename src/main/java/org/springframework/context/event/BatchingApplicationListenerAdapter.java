@@ -0,0 +1,190 @@
+package org.springframework.context.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.OrderComparator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 把BatchApplicationListener适配为ApplicationListener：缓存收到的事件，按数量或时间窗口批量交给监听器。
+ * 数量达到上限时在发布事件的线程中处理，时间窗口到期时在该监听器自己的定时线程中处理，
+ * 一个监听器处理得慢不会推迟其他监听器的批次。定时线程按需创建，空闲一段时间后退出。
+ * 收到容器关闭事件时处理剩余的事件并关闭定时线程
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+@Slf4j
+public class BatchingApplicationListenerAdapter<E extends ApplicationEvent> implements SmartApplicationListener {
+
+	//定时线程空闲多久后退出
+	private static final long FLUSHER_KEEP_ALIVE_SECONDS = 60;
+
+	private final BatchApplicationListener<E> delegate;
+
+	private final Class<?> eventType;
+
+	private final int batchSize;
+
+	private final long batchWindowMillis;
+
+	/**
+	 * 等待处理的事件，key为合并的key，不合并的事件使用一个新的key
+	 */
+	private Map<Object, E> pendingEvents = new LinkedHashMap<>();
+
+	private ScheduledThreadPoolExecutor flushScheduler;
+
+	private ScheduledFuture<?> scheduledFlush;
+
+	private boolean closed;
+
+	/**
+	 * 保证同一个监听器的多批事件依次处理
+	 */
+	private final Object deliveryMonitor = new Object();
+
+	public BatchingApplicationListenerAdapter(BatchApplicationListener<E> delegate) {
+		if (delegate.getBatchSize() <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		this.delegate = delegate;
+		Class<?> resolved = GenericTypeResolver.resolveTypeArgument(delegate.getClass(), BatchApplicationListener.class);
+		this.eventType = resolved != null ? resolved : ApplicationEvent.class;
+		this.batchSize = delegate.getBatchSize();
+		this.batchWindowMillis = delegate.getBatchWindowMillis();
+	}
+
+	public BatchApplicationListener<E> getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public boolean supportsEventType(Class<? extends ApplicationEvent> eventType) {
+		return this.eventType.isAssignableFrom(eventType) || ContextClosedEvent.class.isAssignableFrom(eventType);
+	}
+
+	@Override
+	public int getOrder() {
+		return OrderComparator.getOrder(delegate);
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationEvent event) {
+		boolean delegateEvent = eventType.isInstance(event);
+		if (event instanceof ContextClosedEvent) {
+			if (delegateEvent) {
+				add((E) event);
+			}
+			close();
+			return;
+		}
+		if (delegateEvent) {
+			add((E) event);
+		}
+	}
+
+	private void add(E event) {
+		boolean full;
+		synchronized (this) {
+			if (closed) {
+				log.warn("批量监听器{}已关闭，忽略事件{}", delegate, event);
+				return;
+			}
+			Object key = delegate.getCoalescingKey(event);
+			if (key != null) {
+				//移到最后，保持收到最新事件的顺序
+				pendingEvents.remove(key);
+			} else {
+				key = new Object();
+			}
+			pendingEvents.put(key, event);
+			full = pendingEvents.size() >= batchSize;
+			if (!full && scheduledFlush == null) {
+				scheduledFlush = getFlushScheduler().schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+			}
+		}
+		if (full) {
+			flush();
+		}
+	}
+
+	/**
+	 * 立即处理等待中的事件
+	 */
+	public void flush() {
+		synchronized (deliveryMonitor) {
+			List<E> events;
+			synchronized (this) {
+				if (scheduledFlush != null) {
+					scheduledFlush.cancel(false);
+					scheduledFlush = null;
+				}
+				if (pendingEvents.isEmpty()) {
+					return;
+				}
+				events = new ArrayList<>(pendingEvents.values());
+				pendingEvents = new LinkedHashMap<>();
+			}
+			try {
+				delegate.onApplicationEvents(events);
+			} catch (RuntimeException ex) {
+				log.error("批量监听器{}处理{}个事件出错", delegate, events.size(), ex);
+			}
+		}
+	}
+
+	/**
+	 * 处理剩余的事件并关闭定时线程，之后不再接收事件
+	 */
+	public void close() {
+		ScheduledThreadPoolExecutor scheduler;
+		synchronized (this) {
+			closed = true;
+			scheduler = flushScheduler;
+			flushScheduler = null;
+		}
+		flush();
+		if (scheduler != null) {
+			scheduler.shutdown();
+		}
+	}
+
+	/**
+	 * 需要持有当前对象的锁
+	 */
+	private ScheduledThreadPoolExecutor getFlushScheduler() {
+		if (flushScheduler == null) {
+			String threadName = "batch-event-flusher-" + delegate.getClass().getSimpleName();
+			ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+				Thread thread = new Thread(runnable, threadName);
+				thread.setDaemon(true);
+				return thread;
+			});
+			scheduler.setKeepAliveTime(FLUSHER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+			scheduler.allowCoreThreadTimeOut(true);
+			scheduler.setRemoveOnCancelPolicy(true);
+			flushScheduler = scheduler;
+		}
+		return flushScheduler;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return this == other || (other instanceof BatchingApplicationListenerAdapter
+				&& delegate.equals(((BatchingApplicationListenerAdapter<?>) other).delegate));
+	}
+
+	@Override
+	public int hashCode() {
+		return delegate.hashCode();
+	}
+}
@@ -0,0 +1,506 @@
+package org.springframework.context.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于环形缓冲区的事件发布者，参考disruptor的设计。
+ * 发布事件时只占用一个预先分配的槽位，不创建任务对象；工作线程批量读取已发布的槽位并调用监听器。
+ * 每个工作线程都读取全部事件，但只调用分配给自己的监听器，因此同一个监听器按发布顺序收到事件。
+ * 缓冲区已满时发布事件的线程按waitStrategy等待，工作线程自己发布事件且缓冲区已满时直接同步调用，避免死锁。
+ * 关闭后发布的事件同步调用。
+ * 工作线程中监听器的异常交给ErrorHandler处理，没有设置ErrorHandler时记录日志；同步调用时没有设置ErrorHandler则抛给发布者
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+@Slf4j
+public class RingBufferApplicationEventMulticaster extends SimpleApplicationEventMulticaster implements DisposableBean {
+
+	public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+	private static final int NEW = 0;
+
+	private static final int RUNNING = 1;
+
+	private static final int STOPPED = 2;
+
+	private static final int SPIN_TRIES = 100;
+
+	/**
+	 * 等待槽位或事件的策略
+	 */
+	public enum WaitStrategy {
+		/**
+		 * 一直自旋，延迟最低，占用CPU
+		 */
+		BUSY_SPIN,
+		/**
+		 * 自旋后让出CPU
+		 */
+		YIELDING,
+		/**
+		 * 自旋、让出CPU后短暂休眠
+		 */
+		SLEEPING,
+		/**
+		 * 使用锁和条件变量等待，CPU占用最低
+		 */
+		BLOCKING
+	}
+
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+	private int workerCount = 1;
+
+	private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
+	private long shutdownTimeoutMillis = 5000;
+
+	private volatile int state = NEW;
+
+	private EventSlot[] slots;
+
+	/**
+	 * 每个槽位已发布的圈数，用于多个线程同时发布时判断槽位是否已写入
+	 */
+	private AtomicIntegerArray availableFlags;
+
+	/**
+	 * 每个槽位还没有读取事件的工作线程数，只有一个工作线程时不使用
+	 */
+	private AtomicIntegerArray pendingReaders;
+
+	private int indexMask;
+
+	private int indexShift;
+
+	/**
+	 * 已分配的最大序号
+	 */
+	private final AtomicLong cursor = new AtomicLong(-1);
+
+	private Worker[] workers;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition eventsPublished = lock.newCondition();
+
+	private final Condition slotsReleased = lock.newCondition();
+
+	/**
+	 * 正在发布事件的线程数
+	 */
+	private final AtomicInteger activePublishers = new AtomicInteger();
+
+	/**
+	 * 已关闭且没有正在发布的事件，之后cursor不再变化，工作线程处理到cursor后退出
+	 */
+	private volatile boolean publishersQuiesced;
+
+	private final AtomicLong batchCount = new AtomicLong();
+
+	private final AtomicLong maxLagNanos = new AtomicLong();
+
+	private volatile long lastLagNanos;
+
+	public RingBufferApplicationEventMulticaster() {
+	}
+
+	public RingBufferApplicationEventMulticaster(BeanFactory beanFactory) {
+		this();
+		setBeanFactory(beanFactory);
+	}
+
+	/**
+	 * 缓冲区大小，必须是2的幂
+	 *
+	 * @param bufferSize
+	 */
+	public void setBufferSize(int bufferSize) {
+		if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+			throw new IllegalArgumentException("Buffer size must be a power of 2");
+		}
+		assertNotStarted();
+		this.bufferSize = bufferSize;
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * 工作线程数，监听器按identityHashCode分配给工作线程
+	 *
+	 * @param workerCount
+	 */
+	public void setWorkerCount(int workerCount) {
+		if (workerCount <= 0) {
+			throw new IllegalArgumentException("Worker count must be positive");
+		}
+		assertNotStarted();
+		this.workerCount = workerCount;
+	}
+
+	public void setWaitStrategy(WaitStrategy waitStrategy) {
+		assertNotStarted();
+		this.waitStrategy = waitStrategy;
+	}
+
+	public WaitStrategy getWaitStrategy() {
+		return waitStrategy;
+	}
+
+	public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+		this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+	}
+
+	private void assertNotStarted() {
+		if (state != NEW) {
+			throw new IllegalStateException("Ring buffer already started");
+		}
+	}
+
+	/**
+	 * 已发布的事件数
+	 *
+	 * @return
+	 */
+	public long getPublishedCount() {
+		return cursor.get() + 1;
+	}
+
+	/**
+	 * 所有工作线程都已处理完的事件数
+	 *
+	 * @return
+	 */
+	public long getConsumedCount() {
+		//没有启动就关闭时没有工作线程
+		return workers == null ? 0 : minimumWorkerSequence() + 1;
+	}
+
+	/**
+	 * 已发布但还没有被所有工作线程处理完的事件数
+	 *
+	 * @return
+	 */
+	public long getQueueDepth() {
+		return getPublishedCount() - getConsumedCount();
+	}
+
+	/**
+	 * 最近一个事件从发布到开始处理的延迟
+	 *
+	 * @return
+	 */
+	public long getLastLagNanos() {
+		return lastLagNanos;
+	}
+
+	public long getMaxLagNanos() {
+		return maxLagNanos.get();
+	}
+
+	/**
+	 * 工作线程批量处理的次数，每批包含一个或多个连续的事件
+	 *
+	 * @return
+	 */
+	public long getBatchCount() {
+		return batchCount.get();
+	}
+
+	@Override
+	public void multicastEvent(ApplicationEvent event) {
+		if (state == NEW) {
+			start();
+		}
+		boolean published = false;
+		//先登记再检查状态，destroy()设置STOPPED后等待登记的发布者都完成，工作线程才会退出
+		activePublishers.incrementAndGet();
+		try {
+			if (state == RUNNING) {
+				published = publish(event);
+			}
+		} finally {
+			activePublishers.decrementAndGet();
+		}
+		if (!published) {
+			//已关闭，或工作线程发布事件且缓冲区已满
+			super.multicastEvent(event);
+		}
+	}
+
+	private boolean publish(ApplicationEvent event) {
+		long sequence = next();
+		if (sequence < 0) {
+			return false;
+		}
+		int index = (int) sequence & indexMask;
+		EventSlot slot = slots[index];
+		slot.event = event;
+		slot.publishNanos = System.nanoTime();
+		if (workerCount > 1) {
+			pendingReaders.set(index, workerCount);
+		}
+		availableFlags.lazySet(index, (int) (sequence >>> indexShift));
+		if (waitStrategy == WaitStrategy.BLOCKING) {
+			signal(eventsPublished);
+		}
+		return true;
+	}
+
+	private synchronized void start() {
+		if (state != NEW) {
+			return;
+		}
+		slots = new EventSlot[bufferSize];
+		availableFlags = new AtomicIntegerArray(bufferSize);
+		pendingReaders = new AtomicIntegerArray(bufferSize);
+		for (int i = 0; i < bufferSize; i++) {
+			slots[i] = new EventSlot();
+			availableFlags.set(i, -1);
+		}
+		indexMask = bufferSize - 1;
+		indexShift = Integer.numberOfTrailingZeros(bufferSize);
+		workers = new Worker[workerCount];
+		for (int i = 0; i < workerCount; i++) {
+			workers[i] = new Worker(i);
+		}
+		state = RUNNING;
+		for (Worker worker : workers) {
+			worker.thread.start();
+		}
+		log.info("环形缓冲区事件发布者启动，缓冲区大小{}，工作线程数{}，等待策略{}", bufferSize, workerCount, waitStrategy);
+	}
+
+	/**
+	 * 分配下一个序号，缓冲区已满时等待
+	 *
+	 * @return 序号，工作线程发布事件或已关闭且缓冲区已满时为-1
+	 */
+	private long next() {
+		boolean workerThread = isWorkerThread();
+		int counter = 0;
+		while (true) {
+			long current = cursor.get();
+			long next = current + 1;
+			if (next - bufferSize > minimumWorkerSequence()) {
+				if (workerThread || state == STOPPED) {
+					return -1;
+				}
+				counter = idle(counter, slotsReleased);
+				continue;
+			}
+			if (cursor.compareAndSet(current, next)) {
+				return next;
+			}
+		}
+	}
+
+	private boolean isWorkerThread() {
+		Thread currentThread = Thread.currentThread();
+		for (Worker worker : workers) {
+			if (worker.thread == currentThread) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private long minimumWorkerSequence() {
+		long minimum = Long.MAX_VALUE;
+		for (Worker worker : workers) {
+			minimum = Math.min(minimum, worker.sequence.get());
+		}
+		return minimum;
+	}
+
+	private boolean isAvailable(long sequence) {
+		return availableFlags.get((int) sequence & indexMask) == (int) (sequence >>> indexShift);
+	}
+
+	/**
+	 * [lowerBound, upperBound]中连续发布的最大序号
+	 */
+	private long highestPublishedSequence(long lowerBound, long upperBound) {
+		for (long sequence = lowerBound; sequence <= upperBound; sequence++) {
+			if (!isAvailable(sequence)) {
+				return sequence - 1;
+			}
+		}
+		return upperBound;
+	}
+
+	private int idle(int counter, Condition condition) {
+		switch (waitStrategy) {
+			case BUSY_SPIN:
+				return counter;
+			case YIELDING:
+				if (counter < SPIN_TRIES) {
+					return counter + 1;
+				}
+				Thread.yield();
+				return counter;
+			case SLEEPING:
+				if (counter < SPIN_TRIES) {
+					return counter + 1;
+				}
+				if (counter < SPIN_TRIES * 2) {
+					Thread.yield();
+					return counter + 1;
+				}
+				LockSupport.parkNanos(100_000);
+				return counter;
+			default:
+				lock.lock();
+				try {
+					//设置超时，避免错过通知
+					condition.awaitNanos(TimeUnit.MILLISECONDS.toNanos(1));
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				} finally {
+					lock.unlock();
+				}
+				return counter;
+		}
+	}
+
+	private void signal(Condition condition) {
+		lock.lock();
+		try {
+			condition.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void recordLag(long publishNanos) {
+		long lag = System.nanoTime() - publishNanos;
+		lastLagNanos = lag;
+		maxLagNanos.accumulateAndGet(lag, Math::max);
+	}
+
+	/**
+	 * 停止接收新事件，等待工作线程处理完已发布的事件
+	 *
+	 * @throws Exception
+	 */
+	@Override
+	public void destroy() throws Exception {
+		synchronized (this) {
+			if (state != RUNNING) {
+				state = STOPPED;
+				return;
+			}
+			state = STOPPED;
+		}
+		//等待已登记的发布者写完槽位，它们占用的序号也要由工作线程处理
+		while (activePublishers.get() > 0) {
+			signal(slotsReleased);
+			Thread.yield();
+		}
+		publishersQuiesced = true;
+		signal(eventsPublished);
+		long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+		for (Worker worker : workers) {
+			worker.thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+			if (worker.thread.isAlive()) {
+				log.warn("事件工作线程{}在{}ms内没有处理完，强制中断", worker.thread.getName(), shutdownTimeoutMillis);
+				worker.thread.interrupt();
+			}
+		}
+	}
+
+	/**
+	 * 预先分配的槽位，重复使用
+	 */
+	private static final class EventSlot {
+
+		private ApplicationEvent event;
+
+		private long publishNanos;
+	}
+
+	private final class Worker implements Runnable {
+
+		private final int index;
+
+		/**
+		 * 已处理的最大序号
+		 */
+		private final AtomicLong sequence = new AtomicLong(-1);
+
+		private final Thread thread;
+
+		private Worker(int index) {
+			this.index = index;
+			this.thread = new Thread(this, "event-ring-buffer-" + index);
+			this.thread.setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			long nextSequence = sequence.get() + 1;
+			int counter = 0;
+			while (!Thread.currentThread().isInterrupted()) {
+				long available = highestPublishedSequence(nextSequence, cursor.get());
+				if (available < nextSequence) {
+					if (publishersQuiesced && nextSequence > cursor.get()) {
+						break;
+					}
+					counter = idle(counter, eventsPublished);
+					continue;
+				}
+				counter = 0;
+				for (long s = nextSequence; s <= available; s++) {
+					int slotIndex = (int) s & indexMask;
+					EventSlot slot = slots[slotIndex];
+					recordLag(slot.publishNanos);
+					dispatch(slot.event);
+					releaseSlot(slot, slotIndex);
+				}
+				batchCount.incrementAndGet();
+				sequence.set(available);
+				nextSequence = available + 1;
+				if (waitStrategy == WaitStrategy.BLOCKING) {
+					signal(slotsReleased);
+				}
+			}
+		}
+
+		private void dispatch(ApplicationEvent event) {
+			for (ApplicationListener<ApplicationEvent> applicationListener : getApplicationListeners(event)) {
+				if (workerCount == 1 || Math.floorMod(System.identityHashCode(applicationListener), workerCount) == index) {
+					try {
+						invokeListener(applicationListener, event);
+					} catch (Throwable ex) {
+						//没有设置ErrorHandler或ErrorHandler抛出异常时，不能让工作线程退出
+						log.error("事件监听器{}处理事件{}出错", applicationListener, event, ex);
+					}
+				}
+			}
+		}
+
+		/**
+		 * 所有工作线程都读取过槽位后清除事件，避免缓冲区一直引用已处理的事件
+		 */
+		private void releaseSlot(EventSlot slot, int slotIndex) {
+			if (workerCount == 1 || pendingReaders.decrementAndGet(slotIndex) == 0) {
+				slot.event = null;
+			}
+		}
+	}
+}
@@ -1,12 +1,9 @@
 package org.springframework.context.event;
 
-import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
-
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import org.springframework.util.ErrorHandler;
 
 /**
  * @author derekyi
@@ -14,36 +11,52 @@ import java.lang.reflect.Type;
  */
 public class SimpleApplicationEventMulticaster extends AbstractApplicationEventMulticaster {
 
+	private ErrorHandler errorHandler;
+
+	public SimpleApplicationEventMulticaster() {
+	}
+
 	public SimpleApplicationEventMulticaster(BeanFactory beanFactory) {
 		setBeanFactory(beanFactory);
 	}
 
+	/**
+	 * 设置监听器抛出异常时的处理器，设置后一个监听器出错不影响其他监听器；
+	 * 没有设置时异常直接抛给发布事件的调用方
+	 *
+	 * @param errorHandler
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	public ErrorHandler getErrorHandler() {
+		return errorHandler;
+	}
+
 	@Override
 	public void multicastEvent(ApplicationEvent event) {
-		for (ApplicationListener<ApplicationEvent> applicationListener : applicationListeners) {
-			if (supportsEvent(applicationListener, event)) {
-				applicationListener.onApplicationEvent(event);
-			}
+		for (ApplicationListener<ApplicationEvent> applicationListener : getApplicationListeners(event)) {
+			invokeListener(applicationListener, event);
 		}
 	}
 
 	/**
-	 * 监听器是否对该事件感兴趣
+	 * 调用监听器
 	 *
 	 * @param applicationListener
 	 * @param event
-	 * @return
 	 */
-	protected boolean supportsEvent(ApplicationListener<ApplicationEvent> applicationListener, ApplicationEvent event) {
-		Type type = applicationListener.getClass().getGenericInterfaces()[0];
-		Type actualTypeArgument = ((ParameterizedType) type).getActualTypeArguments()[0];
-		String className = actualTypeArgument.getTypeName();
-		Class<?> eventClassName;
+	protected void invokeListener(ApplicationListener<ApplicationEvent> applicationListener, ApplicationEvent event) {
+		ErrorHandler errorHandler = getErrorHandler();
+		if (errorHandler == null) {
+			applicationListener.onApplicationEvent(event);
+			return;
+		}
 		try {
-			eventClassName = Class.forName(className);
-		} catch (ClassNotFoundException e) {
-			throw new BeansException("wrong event class name: " + className);
+			applicationListener.onApplicationEvent(event);
+		} catch (Throwable ex) {
+			errorHandler.handleError(ex);
 		}
-		return eventClassName.isAssignableFrom(event.getClass());
 	}
 }
@@ -0,0 +1,27 @@
+package org.springframework.context.event;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+
+/**
+ * 自己判断是否支持某类事件的监听器，不再根据泛型参数解析监听的事件类型，适用于包装其他监听器的适配器
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface SmartApplicationListener extends ApplicationListener<ApplicationEvent>, Ordered {
+
+	/**
+	 * 是否对该类型的事件感兴趣
+	 *
+	 * @param eventType
+	 * @return
+	 */
+	boolean supportsEventType(Class<? extends ApplicationEvent> eventType);
+
+	@Override
+	default int getOrder() {
+		return LOWEST_PRECEDENCE;
+	}
+}
@@ -9,6 +9,7 @@ import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.BatchApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.context.event.SimpleApplicationEventMulticaster;
@@ -85,6 +86,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 			}
 		}
 
+		//BeanDefinition不会再变化，冻结后按类型查找直接读取索引
+		beanFactory.freezeConfiguration();
+
 		//提前实例化单例bean
 		beanFactory.preInstantiateSingletons();
 	}
@@ -128,6 +132,12 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 	 */
 	protected void initApplicationEventMulticaster() {
 		ConfigurableListableBeanFactory beanFactory = getBeanFactory();
+		//优先使用自定义的事件发布者，如AsyncApplicationEventMulticaster
+		if (beanFactory.containsBean(APPLICATION_EVENT_MULTICASTER_BEAN_NAME)) {
+			log.info("使用自定义的事件发布者{}", APPLICATION_EVENT_MULTICASTER_BEAN_NAME);
+			applicationEventMulticaster = beanFactory.getBean(APPLICATION_EVENT_MULTICASTER_BEAN_NAME, ApplicationEventMulticaster.class);
+			return;
+		}
 		applicationEventMulticaster = new SimpleApplicationEventMulticaster(beanFactory);
 		beanFactory.addSingleton(APPLICATION_EVENT_MULTICASTER_BEAN_NAME, applicationEventMulticaster);
 	}
@@ -140,6 +150,13 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 		for (ApplicationListener applicationListener : applicationListeners) {
 			applicationEventMulticaster.addApplicationListener(applicationListener);
 		}
+		for (Map.Entry<String, BatchApplicationListener> entry : getBeansOfType(BatchApplicationListener.class).entrySet()) {
+			if (entry.getValue() instanceof ApplicationListener) {
+				//同时注册为两种监听器时每个事件会收到两次
+				throw new BeansException("Bean '" + entry.getKey() + "' cannot implement both ApplicationListener and BatchApplicationListener");
+			}
+			applicationEventMulticaster.addBatchApplicationListener(entry.getValue());
+		}
 	}
 
 	/**
@@ -169,6 +186,11 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 		return getBeanFactory().getBeansOfType(type);
 	}
 
+	@Override
+	public String[] getBeanNamesForType(Class<?> type) {
+		return getBeanFactory().getBeanNamesForType(type);
+	}
+
 	public <T> T getBean(Class<T> requiredType) throws BeansException {
 		return getBeanFactory().getBean(requiredType);
 	}
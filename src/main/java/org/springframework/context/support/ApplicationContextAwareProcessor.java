@@ -24,9 +24,4 @@ public class ApplicationContextAwareProcessor implements BeanPostProcessor {
 		}
 		return bean;
 	}
-
-	@Override
-	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-		return bean;
-	}
 }
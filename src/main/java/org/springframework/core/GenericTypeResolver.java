@@ -0,0 +1,114 @@
+package org.springframework.core;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 解析泛型接口或父类的实际类型参数。
+ * 沿类的父类和接口向上查找，支持实现多个接口、通过泛型父类间接实现、CGLIB生成的子类等情况
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public abstract class GenericTypeResolver {
+
+	/**
+	 * 解析clazz实现genericType时的第一个类型参数
+	 *
+	 * @param clazz
+	 * @param genericType 泛型接口或父类
+	 * @return 无法解析（如使用原始类型）时为null
+	 */
+	public static Class<?> resolveTypeArgument(Class<?> clazz, Class<?> genericType) {
+		Class<?>[] typeArguments = resolveTypeArguments(clazz, genericType);
+		return typeArguments != null ? typeArguments[0] : null;
+	}
+
+	/**
+	 * 解析clazz实现genericType时的全部类型参数，无法解析的类型变量使用其上界
+	 *
+	 * @param clazz
+	 * @param genericType 泛型接口或父类
+	 * @return clazz没有实现genericType或使用原始类型时为null
+	 */
+	public static Class<?>[] resolveTypeArguments(Class<?> clazz, Class<?> genericType) {
+		Map<TypeVariable<?>, Type> typeVariableMap = new HashMap<>();
+		Type[] typeArguments = findTypeArguments(clazz, genericType, typeVariableMap);
+		if (typeArguments == null) {
+			return null;
+		}
+		Class<?>[] result = new Class<?>[typeArguments.length];
+		for (int i = 0; i < typeArguments.length; i++) {
+			result[i] = toClass(typeArguments[i], typeVariableMap);
+		}
+		return result;
+	}
+
+	private static Type[] findTypeArguments(Type type, Class<?> genericType, Map<TypeVariable<?>, Type> typeVariableMap) {
+		Class<?> rawClass = getRawClass(type);
+		if (rawClass == null || !genericType.isAssignableFrom(rawClass)) {
+			return null;
+		}
+		Type[] actualTypeArguments = null;
+		if (type instanceof ParameterizedType) {
+			//记录类型变量对应的实际类型，供子类型中的类型变量解析
+			actualTypeArguments = ((ParameterizedType) type).getActualTypeArguments();
+			TypeVariable<?>[] typeParameters = rawClass.getTypeParameters();
+			for (int i = 0; i < typeParameters.length && i < actualTypeArguments.length; i++) {
+				typeVariableMap.put(typeParameters[i], actualTypeArguments[i]);
+			}
+		}
+		if (rawClass == genericType) {
+			return actualTypeArguments;
+		}
+		for (Type genericInterface : rawClass.getGenericInterfaces()) {
+			Type[] found = findTypeArguments(genericInterface, genericType, typeVariableMap);
+			if (found != null) {
+				return found;
+			}
+		}
+		Type genericSuperclass = rawClass.getGenericSuperclass();
+		return genericSuperclass != null ? findTypeArguments(genericSuperclass, genericType, typeVariableMap) : null;
+	}
+
+	private static Class<?> getRawClass(Type type) {
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		}
+		if (type instanceof ParameterizedType) {
+			Type rawType = ((ParameterizedType) type).getRawType();
+			return rawType instanceof Class ? (Class<?>) rawType : null;
+		}
+		return null;
+	}
+
+	private static Class<?> toClass(Type type, Map<TypeVariable<?>, Type> typeVariableMap) {
+		if (type instanceof Class) {
+			return (Class<?>) type;
+		}
+		if (type instanceof ParameterizedType) {
+			return getRawClass(type);
+		}
+		if (type instanceof TypeVariable) {
+			Type resolved = typeVariableMap.get(type);
+			if (resolved != null && resolved != type) {
+				return toClass(resolved, typeVariableMap);
+			}
+			return toClass(((TypeVariable<?>) type).getBounds()[0], typeVariableMap);
+		}
+		if (type instanceof WildcardType) {
+			return toClass(((WildcardType) type).getUpperBounds()[0], typeVariableMap);
+		}
+		if (type instanceof GenericArrayType) {
+			Class<?> componentType = toClass(((GenericArrayType) type).getGenericComponentType(), typeVariableMap);
+			return Array.newInstance(componentType, 0).getClass();
+		}
+		return Object.class;
+	}
+}
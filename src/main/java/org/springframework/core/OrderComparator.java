@@ -0,0 +1,30 @@
+package org.springframework.core;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 按Ordered排序，没有实现Ordered的对象排在最后。排序是稳定的，优先级相同时保持原来的顺序
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class OrderComparator implements Comparator<Object> {
+
+	public static final OrderComparator INSTANCE = new OrderComparator();
+
+	@Override
+	public int compare(Object o1, Object o2) {
+		return Integer.compare(getOrder(o1), getOrder(o2));
+	}
+
+	public static int getOrder(Object obj) {
+		return obj instanceof Ordered ? ((Ordered) obj).getOrder() : Ordered.LOWEST_PRECEDENCE;
+	}
+
+	public static void sort(List<?> list) {
+		if (list.size() > 1) {
+			list.sort(INSTANCE);
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package org.springframework.core;
+
+/**
+ * 可排序的对象，值越小优先级越高
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface Ordered {
+
+	int HIGHEST_PRECEDENCE = Integer.MIN_VALUE;
+
+	int LOWEST_PRECEDENCE = Integer.MAX_VALUE;
+
+	int getOrder();
+}
@@ -0,0 +1,12 @@
+package org.springframework.util;
+
+/**
+ * 处理任务（如事件监听器）执行过程中抛出的异常
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public interface ErrorHandler {
+
+	void handleError(Throwable t);
+}
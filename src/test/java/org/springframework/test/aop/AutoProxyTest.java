@@ -1,8 +1,13 @@
 package org.springframework.test.aop;
 
 import org.junit.Test;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.bean.Car;
+import org.springframework.test.common.RecordingMethodInterceptor;
 import org.springframework.test.service.WorldService;
+import org.springframework.test.service.WorldServiceImpl;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -30,4 +35,55 @@ public class AutoProxyTest {
 		worldService.explode();
 		assertThat(worldService.getName()).isEqualTo("earth");
 	}
+
+	@Test
+	public void testMultipleAdvisors() throws Exception {
+		RecordingMethodInterceptor.invocations.clear();
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:multiple-advisors.xml");
+		WorldService worldService = applicationContext.getBean("worldService", WorldService.class);
+
+		//多个Advisor按order组成一个拦截器链
+		assertThat(worldService.getName()).isEqualTo("earth");
+		assertThat(RecordingMethodInterceptor.invocations).containsExactly(
+				"metrics:before", "tracing:before", "before:getName", "tracing:after", "metrics:after");
+
+		RecordingMethodInterceptor.invocations.clear();
+		worldService.explode();
+		assertThat(RecordingMethodInterceptor.invocations).containsExactly(
+				"metrics:before", "tracing:before", "tracing:after", "metrics:after");
+	}
+
+	@Test
+	public void testAdviceTypes() throws Exception {
+		RecordingMethodInterceptor.invocations.clear();
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:advice-types.xml");
+		WorldService worldService = applicationContext.getBean("worldService", WorldService.class);
+
+		//AroundAdvice可以修改返回值，AfterReturningAdvice收到的是内层的返回值
+		assertThat(worldService.getName()).isEqualTo("EARTH");
+		assertThat(RecordingMethodInterceptor.invocations).containsExactly(
+				"around:before", "afterReturning:getName:earth", "around:after");
+	}
+
+	@Test
+	public void testSkipBeanWithoutMatchingMethods() throws Exception {
+		RecordingMethodInterceptor.invocations.clear();
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:class-level-pointcut-filter.xml");
+
+		//没有方法匹配切点的bean不创建代理
+		assertThat(applicationContext.getBean("car").getClass()).isEqualTo(Car.class);
+		assertThat(applicationContext.getBean("anotherCar").getClass()).isEqualTo(Car.class);
+
+		WorldService worldService = applicationContext.getBean("worldService", WorldService.class);
+		assertThat(worldService.getClass()).isNotEqualTo(WorldServiceImpl.class);
+		worldService.explode();
+		assertThat(RecordingMethodInterceptor.invocations).containsExactly("tracing:before", "tracing:after");
+	}
+
+	@Test
+	public void testCanApply() throws Exception {
+		AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut("execution(* org.springframework.test..*.explode(..))");
+		assertThat(AopUtils.canApply(pointcut, WorldServiceImpl.class)).isTrue();
+		assertThat(AopUtils.canApply(pointcut, Car.class)).isFalse();
+	}
 }
@@ -0,0 +1,160 @@
+package org.springframework.test.aop;
+
+import org.junit.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.CacheStats;
+import org.springframework.cache.support.LruCache;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.service.SquareService;
+import org.springframework.test.service.WorldServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class CacheInterceptorTest {
+
+	@Test
+	public void testCacheable() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:cacheable.xml");
+		SquareService squareService = applicationContext.getBean("squareService", SquareService.class);
+		CacheManager cacheManager = applicationContext.getBean("cacheManager", CacheManager.class);
+
+		//没有缓存注解的bean不创建代理
+		assertThat(applicationContext.getBean("worldService").getClass()).isEqualTo(WorldServiceImpl.class);
+
+		assertThat(squareService.square(3)).isEqualTo(9);
+		assertThat(squareService.square(3)).isEqualTo(9);
+		assertThat(squareService.square(4)).isEqualTo(16);
+		assertThat(squareService.getInvocationCount()).isEqualTo(2);
+
+		CacheStats stats = cacheManager.getCache("squares").getStats();
+		assertThat(stats.getHitCount()).isEqualTo(1);
+		assertThat(stats.getMissCount()).isEqualTo(2);
+
+		//null也会缓存
+		assertThat(squareService.findName("missing")).isNull();
+		assertThat(squareService.findName("missing")).isNull();
+		assertThat(squareService.findName("1")).isEqualTo("name-1");
+		assertThat(squareService.getInvocationCount()).isEqualTo(4);
+
+		//删除一个key
+		squareService.evict(3);
+		squareService.square(3);
+		squareService.square(4);
+		assertThat(squareService.getInvocationCount()).isEqualTo(5);
+
+		//清空缓存
+		squareService.clear();
+		squareService.square(3);
+		squareService.square(4);
+		assertThat(squareService.getInvocationCount()).isEqualTo(7);
+	}
+
+	@Test
+	public void testStampedeProtection() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:cacheable.xml");
+		SquareService squareService = applicationContext.getBean("squareService", SquareService.class);
+		squareService.setDelayMillis(100);
+
+		int threadCount = 8;
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		CountDownLatch startLatch = new CountDownLatch(1);
+		List<Future<Long>> futures = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			futures.add(executorService.submit(() -> {
+				startLatch.await();
+				return squareService.square(7);
+			}));
+		}
+		startLatch.countDown();
+		for (Future<Long> future : futures) {
+			assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo(49);
+		}
+		executorService.shutdown();
+
+		//同一个key同时未命中时只执行一次
+		assertThat(squareService.getInvocationCount()).isEqualTo(1);
+		CacheStats stats = applicationContext.getBean("cacheManager", CacheManager.class).getCache("squares").getStats();
+		assertThat(stats.getLoadCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testLruEviction() throws Exception {
+		LruCache cache = new LruCache("test", 2, 0);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		//访问a后b成为最久没有访问的值
+		assertThat(cache.get("a")).isEqualTo(1);
+		cache.put("c", 3);
+
+		assertThat(cache.get("b")).isNull();
+		assertThat(cache.get("a")).isEqualTo(1);
+		assertThat(cache.get("c")).isEqualTo(3);
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getStats().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testEvictDuringLoadDoesNotCacheStaleValue() throws Exception {
+		LruCache cache = new LruCache("test", 10, 0);
+		CountDownLatch loadStarted = new CountDownLatch(1);
+		CountDownLatch evicted = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Integer> loaded = executor.submit(() -> cache.get("a", () -> {
+				loadStarted.countDown();
+				evicted.await();
+				return 1;
+			}));
+			assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+			cache.evict("a");
+			evicted.countDown();
+
+			//等待加载的线程仍然拿到加载的值，但不放入缓存
+			assertThat(loaded.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+			assertThat(cache.get("a")).isNull();
+			assertThat(cache.get("a", () -> 2)).isEqualTo(2);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testExpireAfterWrite() throws Exception {
+		LruCache cache = new LruCache("test", 10, 50);
+		cache.put("a", 1);
+		assertThat(cache.get("a")).isEqualTo(1);
+
+		Thread.sleep(80);
+		assertThat(cache.get("a")).isNull();
+		AtomicInteger loadCount = new AtomicInteger();
+		assertThat(cache.get("a", () -> loadCount.incrementAndGet())).isEqualTo(1);
+		assertThat(cache.get("a", () -> loadCount.incrementAndGet())).isEqualTo(1);
+		assertThat(cache.getStats().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testValueLoaderException() throws Exception {
+		LruCache cache = new LruCache("test", 10, 0);
+		assertThatThrownBy(() -> cache.get("a", () -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(Cache.ValueRetrievalException.class).hasCauseInstanceOf(IllegalStateException.class);
+
+		//加载失败不缓存，下次重新加载
+		assertThat(cache.get("a", () -> 1)).isEqualTo(1);
+	}
+}
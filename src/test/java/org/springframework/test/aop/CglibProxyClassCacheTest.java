@@ -0,0 +1,70 @@
+package org.springframework.test.aop;
+
+import org.junit.Test;
+import org.springframework.aop.AdvisedSupport;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.aop.framework.CglibAopProxy;
+import org.springframework.aop.target.SingletonTargetSource;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.common.RecordingMethodInterceptor;
+import org.springframework.test.service.WorldService;
+import org.springframework.test.service.WorldServiceImpl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class CglibProxyClassCacheTest {
+
+	@Test
+	public void testProxyClassReused() throws Exception {
+		AtomicInteger interceptCount = new AtomicInteger();
+		AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+		advisor.setExpression("execution(* org.springframework.test.service.WorldService.getName(..))");
+		advisor.setAdvice((org.aopalliance.intercept.MethodInterceptor) invocation -> {
+			interceptCount.incrementAndGet();
+			return invocation.proceed();
+		});
+
+		WorldService first = null;
+		for (int i = 0; i < 100; i++) {
+			WorldServiceImpl target = new WorldServiceImpl();
+			target.setName("earth" + i);
+			WorldService proxy = (WorldService) new CglibAopProxy(createAdvisedSupport(target, advisor)).getProxy();
+			if (first == null) {
+				first = proxy;
+			}
+			//每个代理使用自己的目标对象
+			assertThat(proxy.getName()).isEqualTo("earth" + i);
+			assertThat(proxy.getClass()).isSameAs(first.getClass());
+		}
+		assertThat(interceptCount.get()).isEqualTo(100);
+	}
+
+	private AdvisedSupport createAdvisedSupport(Object target, AspectJExpressionPointcutAdvisor advisor) {
+		AdvisedSupport advisedSupport = new AdvisedSupport();
+		advisedSupport.setTargetSource(new SingletonTargetSource(target));
+		advisedSupport.addAdvisor(advisor);
+		return advisedSupport;
+	}
+
+	@Test
+	public void testPrototypeProxyBean() throws Exception {
+		RecordingMethodInterceptor.invocations.clear();
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:prototype-proxy-bean.xml");
+
+		WorldService first = applicationContext.getBean("worldService", WorldService.class);
+		for (int i = 0; i < 100; i++) {
+			WorldService worldService = applicationContext.getBean("worldService", WorldService.class);
+			assertThat(worldService).isNotSameAs(first);
+			assertThat(worldService.getClass()).isSameAs(first.getClass());
+		}
+
+		assertThat(first.getName()).isEqualTo("earth");
+		assertThat(RecordingMethodInterceptor.invocations).containsExactly("prototype:before", "prototype:after");
+	}
+}
@@ -1,6 +1,8 @@
 package org.springframework.test.aop;
 
+import com.sun.management.ThreadMXBean;
 import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.aop.AdvisedSupport;
@@ -13,11 +15,21 @@ import org.springframework.aop.framework.CglibAopProxy;
 import org.springframework.aop.framework.JdkDynamicAopProxy;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.aop.framework.adapter.MethodBeforeAdviceInterceptor;
+import org.springframework.aop.target.SingletonTargetSource;
+import org.springframework.test.common.RecordingAfterAdvice;
+import org.springframework.test.common.RecordingMethodInterceptor;
 import org.springframework.test.common.WorldServiceBeforeAdvice;
 import org.springframework.test.common.WorldServiceInterceptor;
 import org.springframework.test.service.WorldService;
 import org.springframework.test.service.WorldServiceImpl;
 
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 /**
  * @author derekyi
  * @date 2020/12/6
@@ -31,7 +43,7 @@ public class DynamicProxyTest {
 		WorldService worldService = new WorldServiceImpl();
 
 		advisedSupport = new AdvisedSupport();
-		TargetSource targetSource = new TargetSource(worldService);
+		TargetSource targetSource = new SingletonTargetSource(worldService);
 		WorldServiceInterceptor methodInterceptor = new WorldServiceInterceptor();
 		MethodMatcher methodMatcher = new AspectJExpressionPointcut("execution(* org.springframework.test.service.WorldService.explode(..))").getMethodMatcher();
 		advisedSupport.setTargetSource(targetSource);
@@ -90,7 +102,7 @@ public class DynamicProxyTest {
 		if (classFilter.matches(worldService.getClass())) {
 			AdvisedSupport advisedSupport = new AdvisedSupport();
 
-			TargetSource targetSource = new TargetSource(worldService);
+			TargetSource targetSource = new SingletonTargetSource(worldService);
 			advisedSupport.setTargetSource(targetSource);
 			advisedSupport.setMethodInterceptor((MethodInterceptor) advisor.getAdvice());
 			advisedSupport.setMethodMatcher(advisor.getPointcut().getMethodMatcher());
@@ -100,20 +112,160 @@ public class DynamicProxyTest {
 			proxy.explode();
 		}
 	}
-}
-
-
-
 
+	@Test
+	public void testAfterThrowingAdvice() throws Exception {
+		RecordingMethodInterceptor.invocations.clear();
+		WorldService worldService = new ExplodingWorldService();
+		AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+		advisor.setExpression("execution(* org.springframework.test.service.WorldService.*(..))");
+		advisor.setAdvice(new RecordingAfterAdvice());
 
+		AdvisedSupport advisedSupport = new AdvisedSupport();
+		advisedSupport.setTargetSource(new SingletonTargetSource(worldService));
+		advisedSupport.addAdvisor(advisor);
+		WorldService proxy = (WorldService) new ProxyFactory(advisedSupport).getProxy();
 
+		//抛出异常时只执行after throwing advice，原异常继续抛出
+		assertThatThrownBy(proxy::explode).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+		assertThat(RecordingMethodInterceptor.invocations).containsExactly("afterThrowing:explode:boom");
+	}
 
+	@Test
+	public void testInterceptorChainCache() throws Exception {
+		MethodMatcher pointcutMatcher = advisedSupport.getMethodMatcher();
+		AtomicInteger matchCount = new AtomicInteger();
+		advisedSupport.setMethodMatcher((method, targetClass) -> {
+			matchCount.incrementAndGet();
+			return pointcutMatcher.matches(method, targetClass);
+		});
+		AtomicInteger interceptCount = new AtomicInteger();
+		advisedSupport.setMethodInterceptor(invocation -> {
+			interceptCount.incrementAndGet();
+			return invocation.proceed();
+		});
+
+		WorldService jdkProxy = (WorldService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+		WorldService cglibProxy = (WorldService) new CglibAopProxy(advisedSupport).getProxy();
+		for (int i = 0; i < 1000; i++) {
+			jdkProxy.getName();
+			cglibProxy.getName();
+		}
+		//每个方法只匹配一次，JDK代理收到接口的方法，CGLIB代理收到实现类的方法
+		assertThat(matchCount.get()).isEqualTo(2);
+		assertThat(interceptCount.get()).isEqualTo(0);
+
+		//修改配置后重新匹配
+		advisedSupport.setMethodMatcher((method, targetClass) -> {
+			matchCount.incrementAndGet();
+			return true;
+		});
+		jdkProxy.getName();
+		cglibProxy.getName();
+		assertThat(matchCount.get()).isEqualTo(4);
+		assertThat(interceptCount.get()).isEqualTo(2);
+	}
 
+	@Test
+	public void testInterceptorChainCachedPerTargetClass() throws Exception {
+		AdvisedSupport advised = new AdvisedSupport();
+		advised.setMethodInterceptor(new RecordingMethodInterceptor());
+		advised.setMethodMatcher((method, targetClass) -> ExplodingWorldService.class.isAssignableFrom(targetClass));
+		Method explode = WorldService.class.getMethod("explode");
+
+		//同一个方法按目标类分别匹配，不复用其他目标类的拦截器链
+		assertThat(advised.getInterceptorsAndDynamicInterceptionAdvice(explode, WorldServiceImpl.class)).isEmpty();
+		assertThat(advised.getInterceptorsAndDynamicInterceptionAdvice(explode, ExplodingWorldService.class)).hasSize(1);
+		assertThat(advised.getInterceptorsAndDynamicInterceptionAdvice(explode, WorldServiceImpl.class)).isEmpty();
+	}
 
+	@Test
+	public void testJdkProxyDispatchTable() throws Exception {
+		RecordingMethodInterceptor.invocations.clear();
+		WorldServiceImpl target = new WorldServiceImpl();
+		target.setName("earth");
+		AdvisedSupport advisedSupport = new AdvisedSupport();
+		advisedSupport.setTargetSource(new SingletonTargetSource(target));
+		advisedSupport.setProxyTargetClass(false);
+		WorldService proxy = (WorldService) new ProxyFactory(advisedSupport).getProxy();
 
+		//接口只读取一次
+		assertThat(advisedSupport.getTargetSource().getTargetClass()).isSameAs(advisedSupport.getTargetSource().getTargetClass());
 
+		//没有拦截器，通过绑定了目标对象的MethodHandle调用
+		assertThat(proxy.getName()).isEqualTo("earth");
+		assertThat(RecordingMethodInterceptor.invocations).isEmpty();
 
+		//代理创建后添加Advisor，分派表按新配置重新生成
+		AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+		advisor.setExpression("execution(* org.springframework.test.service.WorldService.getName(..))");
+		RecordingMethodInterceptor interceptor = new RecordingMethodInterceptor();
+		interceptor.setName("tracing");
+		advisor.setAdvice(interceptor);
+		advisedSupport.addAdvisor(advisor);
+		assertThat(proxy.getName()).isEqualTo("earth");
+		assertThat(RecordingMethodInterceptor.invocations).containsExactly("tracing:before", "tracing:after");
+
+		advisedSupport.removeAdvisor(advisor);
+		RecordingMethodInterceptor.invocations.clear();
+		assertThat(proxy.getName()).isEqualTo("earth");
+		assertThat(RecordingMethodInterceptor.invocations).isEmpty();
+	}
 
+	@Test
+	public void testReplaceTargetSource() throws Exception {
+		WorldServiceImpl earth = new WorldServiceImpl();
+		earth.setName("earth");
+		WorldServiceImpl mars = new WorldServiceImpl();
+		mars.setName("mars");
+		AdvisedSupport advisedSupport = new AdvisedSupport();
+		advisedSupport.setTargetSource(new SingletonTargetSource(earth));
+		advisedSupport.setProxyTargetClass(false);
+		WorldService jdkProxy = (WorldService) new ProxyFactory(advisedSupport).getProxy();
+		advisedSupport.setProxyTargetClass(true);
+		WorldService cglibProxy = (WorldService) new ProxyFactory(advisedSupport).getProxy();
+		assertThat(jdkProxy.getName()).isEqualTo("earth");
+		assertThat(cglibProxy.getName()).isEqualTo("earth");
+
+		//替换TargetSource后两种代理都调用新的目标对象
+		advisedSupport.setTargetSource(new SingletonTargetSource(mars));
+		assertThat(jdkProxy.getName()).isEqualTo("mars");
+		assertThat(cglibProxy.getName()).isEqualTo("mars");
+	}
 
+	/**
+	 * 结果依赖JIT的逃逸分析且耗时较长，只在指定-Dbenchmark=true时运行
+	 */
+	@Test
+	public void testAllocationFreeFastPath() throws Exception {
+		Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+		Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+		//只拦截explode方法，getName方法没有匹配的拦截器
+		WorldService jdkProxy = (WorldService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+		WorldService cglibProxy = (WorldService) new CglibAopProxy(advisedSupport).getProxy();
+
+		ThreadMXBean allocationBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		int times = 1000000;
+		for (WorldService proxy : new WorldService[]{jdkProxy, cglibProxy}) {
+			//预热，使JIT完成编译
+			for (int i = 0; i < times; i++) {
+				proxy.getName();
+			}
+			long before = allocationBean.getThreadAllocatedBytes(threadId);
+			for (int i = 0; i < times; i++) {
+				proxy.getName();
+			}
+			long bytesPerCall = (allocationBean.getThreadAllocatedBytes(threadId) - before) / times;
+			assertThat(bytesPerCall).isLessThan(8);
+		}
+	}
 
+	public static class ExplodingWorldService extends WorldServiceImpl {
 
+		@Override
+		public void explode() {
+			throw new IllegalStateException("boom");
+		}
+	}
+}
@@ -0,0 +1,206 @@
+package org.springframework.test.aop;
+
+import org.junit.Test;
+import org.springframework.aop.AdvisedSupport;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.target.HotSwappableTargetSource;
+import org.springframework.aop.target.LazyInitTargetSource;
+import org.springframework.aop.target.PoolingTargetSource;
+import org.springframework.aop.target.ThreadLocalTargetSource;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.common.RecordingMethodInterceptor;
+import org.springframework.test.service.StatefulFormatter;
+import org.springframework.test.service.WorldService;
+import org.springframework.test.service.WorldServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class TargetSourceTest {
+
+	@Test
+	public void testPoolingTargetSource() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:target-source.xml");
+		StatefulFormatter formatter = applicationContext.getBean("pooledFormatter", StatefulFormatter.class);
+		PoolingTargetSource targetSource = applicationContext.getBean("poolTargetSource", PoolingTargetSource.class);
+
+		//多个线程同时调用，每次调用借出不同的实例，实例数不超过maxSize
+		Set<StatefulFormatter> targets = runConcurrently(8, 50, formatter);
+		assertThat(targets.size()).isBetween(1, 4);
+		assertThat(targetSource.getActiveCount()).isEqualTo(0);
+		assertThat(targetSource.getIdleCount()).isEqualTo(targets.size());
+		//已经借出过实例，不能再修改maxSize
+		assertThatThrownBy(() -> targetSource.setMaxSize(8)).isInstanceOf(IllegalStateException.class);
+
+		applicationContext.close();
+		assertThat(targetSource.getIdleCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void testThreadLocalTargetSource() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:target-source.xml");
+		StatefulFormatter formatter = applicationContext.getBean("threadLocalFormatter", StatefulFormatter.class);
+		ThreadLocalTargetSource targetSource = applicationContext.getBean("threadLocalTargetSource", ThreadLocalTargetSource.class);
+
+		//同一个线程总是使用同一个实例
+		assertThat(formatter.self()).isSameAs(formatter.self());
+		assertThat(formatter.format(1)).isEqualTo("[1]");
+
+		Set<StatefulFormatter> targets = runConcurrently(4, 50, formatter);
+		assertThat(targets).hasSize(4);
+		assertThat(targetSource.getObjectCount()).isEqualTo(5);
+		assertThat(targetSource.getInvocationCount()).isEqualTo(3 + 4 * 50 * 2);
+		assertThat(targetSource.getHitCount()).isEqualTo(targetSource.getInvocationCount() - 5);
+
+		//销毁后其他线程的ThreadLocal中的实例也不再返回
+		applicationContext.close();
+		assertThatThrownBy(formatter::self).isInstanceOf(BeansException.class);
+	}
+
+	@Test
+	public void testLazyInitTargetSource() throws Exception {
+		RecordingMethodInterceptor.invocations.clear();
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:target-source.xml");
+		StatefulFormatter formatter = applicationContext.getBean("lazyInitFormatter", StatefulFormatter.class);
+		LazyInitTargetSource targetSource = applicationContext.getBean("lazyInitTargetSource", LazyInitTargetSource.class);
+
+		//创建代理时不创建目标对象
+		assertThat(targetSource.isInitialized()).isFalse();
+		assertThat(formatter.format(42)).isEqualTo("[42]");
+		assertThat(targetSource.isInitialized()).isTrue();
+		assertThat(formatter.self()).isSameAs(targetSource.getTarget());
+		assertThat(RecordingMethodInterceptor.invocations).containsExactly(
+				"tracing:before", "tracing:after", "tracing:before", "tracing:after");
+	}
+
+	@Test
+	public void testPrototypeTargetRequired() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("formatter", new BeanDefinition(StatefulFormatter.class));
+		PoolingTargetSource targetSource = new PoolingTargetSource();
+		targetSource.setTargetBeanName("formatter");
+
+		assertThatThrownBy(() -> targetSource.setBeanFactory(beanFactory)).isInstanceOf(BeansException.class);
+	}
+
+	@Test
+	public void testHotSwappableTargetSource() throws Exception {
+		RecordingMethodInterceptor.invocations.clear();
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:hot-swappable-target-source.xml");
+		WorldService worldService = applicationContext.getBean("worldService", WorldService.class);
+		HotSwappableTargetSource targetSource = applicationContext.getBean("swappableTargetSource", HotSwappableTargetSource.class);
+		assertThat(worldService.getName()).isEqualTo("earth");
+
+		WorldServiceImpl mars = new WorldServiceImpl();
+		mars.setName("mars");
+		Object oldTarget = targetSource.swap(mars);
+		assertThat(oldTarget).isSameAs(applicationContext.getBean("earth"));
+		assertThat(worldService.getName()).isEqualTo("mars");
+		assertThat(targetSource.getSwapCount()).isEqualTo(1);
+		//替换后拦截器仍然生效
+		assertThat(RecordingMethodInterceptor.invocations).containsExactly(
+				"tracing:before", "tracing:after", "tracing:before", "tracing:after");
+
+		//新目标对象必须是初始目标对象的类型
+		assertThatThrownBy(() -> targetSource.swap(new Object())).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testSwapDuringInFlightCall() throws Exception {
+		BlockingWorldService oldTarget = new BlockingWorldService("earth");
+		BlockingWorldService newTarget = new BlockingWorldService("mars");
+		HotSwappableTargetSource targetSource = new HotSwappableTargetSource(oldTarget);
+		for (boolean proxyTargetClass : new boolean[]{true, false}) {
+			targetSource.swap(oldTarget);
+			AdvisedSupport advisedSupport = new AdvisedSupport();
+			advisedSupport.setTargetSource(targetSource);
+			advisedSupport.setProxyTargetClass(proxyTargetClass);
+			WorldService proxy = (WorldService) new ProxyFactory(advisedSupport).getProxy();
+
+			oldTarget.entered = new CountDownLatch(1);
+			oldTarget.release = new CountDownLatch(1);
+			ExecutorService executorService = Executors.newSingleThreadExecutor();
+			Future<String> inFlight = executorService.submit(proxy::getName);
+			assertThat(oldTarget.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+			//调用进行中替换，新的调用使用新目标对象，进行中的调用在旧目标对象上完成
+			targetSource.swap(newTarget);
+			assertThat(proxy.getName()).isEqualTo("mars");
+			oldTarget.release.countDown();
+			assertThat(inFlight.get(5, TimeUnit.SECONDS)).isEqualTo("earth");
+			executorService.shutdown();
+		}
+	}
+
+	public static class BlockingWorldService extends WorldServiceImpl {
+
+		private volatile CountDownLatch entered;
+
+		private volatile CountDownLatch release;
+
+		public BlockingWorldService() {
+		}
+
+		public BlockingWorldService(String name) {
+			setName(name);
+		}
+
+		@Override
+		public String getName() {
+			CountDownLatch entered = this.entered;
+			CountDownLatch release = this.release;
+			if (entered != null && release != null) {
+				entered.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return super.getName();
+		}
+	}
+
+	/**
+	 * 多个线程同时调用，返回调用时使用的目标对象
+	 */
+	private Set<StatefulFormatter> runConcurrently(int threadCount, int times, StatefulFormatter formatter) throws Exception {
+		Set<StatefulFormatter> targets = ConcurrentHashMap.newKeySet();
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		CountDownLatch startLatch = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			futures.add(executorService.submit(() -> {
+				startLatch.await();
+				for (int j = 0; j < times; j++) {
+					assertThat(formatter.format(j)).isEqualTo("[" + j + "]");
+					targets.add(formatter.self());
+				}
+				return null;
+			}));
+		}
+		startLatch.countDown();
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		executorService.shutdown();
+		return targets;
+	}
+}
@@ -0,0 +1,45 @@
+package org.springframework.test.bean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 只能通过构造函数注入的不可变bean
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class Garage {
+
+	private final String name;
+
+	private final int capacity;
+
+	private final Car car;
+
+	public Garage() {
+		this("default", 0, null);
+	}
+
+	@Autowired
+	public Garage(Car car) {
+		this("autowired", 1, car);
+	}
+
+	public Garage(String name, int capacity, Car car) {
+		this.name = name;
+		this.capacity = capacity;
+		this.car = car;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	public Car getCar() {
+		return car;
+	}
+}
@@ -0,0 +1,25 @@
+package org.springframework.test.common;
+
+import org.springframework.aop.AfterReturningAdvice;
+import org.springframework.aop.AfterThrowingAdvice;
+
+import java.lang.reflect.Method;
+
+/**
+ * 记录调用顺序的AfterReturningAdvice和AfterThrowingAdvice
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class RecordingAfterAdvice implements AfterReturningAdvice, AfterThrowingAdvice {
+
+	@Override
+	public void afterReturning(Object returnValue, Method method, Object[] args, Object target) throws Throwable {
+		RecordingMethodInterceptor.invocations.add("afterReturning:" + method.getName() + ":" + returnValue);
+	}
+
+	@Override
+	public void afterThrowing(Method method, Object[] args, Object target, Throwable ex) throws Throwable {
+		RecordingMethodInterceptor.invocations.add("afterThrowing:" + method.getName() + ":" + ex.getMessage());
+	}
+}
@@ -0,0 +1,21 @@
+package org.springframework.test.common;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.AroundAdvice;
+
+/**
+ * 记录调用顺序的AroundAdvice，getName方法的返回值转为大写
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class RecordingAroundAdvice implements AroundAdvice {
+
+	@Override
+	public Object around(MethodInvocation invocation) throws Throwable {
+		RecordingMethodInterceptor.invocations.add("around:before");
+		Object result = invocation.proceed();
+		RecordingMethodInterceptor.invocations.add("around:after");
+		return result instanceof String ? ((String) result).toUpperCase() : result;
+	}
+}
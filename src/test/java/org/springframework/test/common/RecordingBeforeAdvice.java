@@ -0,0 +1,19 @@
+package org.springframework.test.common;
+
+import org.springframework.aop.MethodBeforeAdvice;
+
+import java.lang.reflect.Method;
+
+/**
+ * 记录调用顺序的BeforeAdvice
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class RecordingBeforeAdvice implements MethodBeforeAdvice {
+
+	@Override
+	public void before(Method method, Object[] args, Object target) throws Throwable {
+		RecordingMethodInterceptor.invocations.add("before:" + method.getName());
+	}
+}
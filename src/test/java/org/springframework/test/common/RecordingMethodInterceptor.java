@@ -0,0 +1,32 @@
+package org.springframework.test.common;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 记录调用顺序的拦截器
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class RecordingMethodInterceptor implements MethodInterceptor {
+
+	public static final List<String> invocations = new CopyOnWriteArrayList<>();
+
+	private String name;
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		invocations.add(name + ":before");
+		Object result = invocation.proceed();
+		invocations.add(name + ":after");
+		return result;
+	}
+}
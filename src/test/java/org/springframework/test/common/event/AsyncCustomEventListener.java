@@ -0,0 +1,31 @@
+package org.springframework.test.common.event;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.AsyncListener;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 执行较慢的异步监听器
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+@AsyncListener
+public class AsyncCustomEventListener implements ApplicationListener<CustomEvent> {
+
+	public static volatile CountDownLatch latch = new CountDownLatch(1);
+
+	public static volatile Thread invokedThread;
+
+	@Override
+	public void onApplicationEvent(CustomEvent event) {
+		try {
+			Thread.sleep(300);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		invokedThread = Thread.currentThread();
+		latch.countDown();
+	}
+}
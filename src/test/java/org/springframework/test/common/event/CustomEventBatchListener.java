@@ -0,0 +1,32 @@
+package org.springframework.test.common.event;
+
+import org.springframework.context.event.BatchApplicationListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 批量接收CustomEvent的监听器
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class CustomEventBatchListener implements BatchApplicationListener<CustomEvent> {
+
+	public static final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void onApplicationEvents(List<CustomEvent> events) {
+		batchSizes.add(events.size());
+	}
+
+	@Override
+	public int getBatchSize() {
+		return 10;
+	}
+
+	@Override
+	public long getBatchWindowMillis() {
+		return 60000;
+	}
+}
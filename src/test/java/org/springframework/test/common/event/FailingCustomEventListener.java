@@ -0,0 +1,19 @@
+package org.springframework.test.common.event;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.AsyncListener;
+
+/**
+ * 总是抛出异常的异步监听器
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+@AsyncListener
+public class FailingCustomEventListener implements ApplicationListener<CustomEvent> {
+
+	@Override
+	public void onApplicationEvent(CustomEvent event) {
+		throw new IllegalStateException("listener failed");
+	}
+}
@@ -0,0 +1,127 @@
+package org.springframework.test.ioc;
+
+import org.junit.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.AsyncApplicationEventMulticaster;
+import org.springframework.context.event.AsyncListener;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.common.event.AsyncCustomEventListener;
+import org.springframework.test.common.event.CustomEvent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class AsyncEventMulticasterTest {
+
+	@Test
+	public void testAsyncListener() throws Exception {
+		AsyncCustomEventListener.latch = new CountDownLatch(1);
+		AsyncCustomEventListener.invokedThread = null;
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:async-event-multicaster.xml");
+		assertThat(applicationContext.getBean("applicationEventMulticaster")).isInstanceOf(AsyncApplicationEventMulticaster.class);
+
+		long start = System.currentTimeMillis();
+		//FailingCustomEventListener抛出的异常不影响发布事件的线程和其他监听器
+		applicationContext.publishEvent(new CustomEvent(applicationContext));
+		long cost = System.currentTimeMillis() - start;
+		assertThat(cost).isLessThan(300);
+
+		assertThat(AsyncCustomEventListener.latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(AsyncCustomEventListener.invokedThread).isNotSameAs(Thread.currentThread());
+		applicationContext.close();
+	}
+
+	@Test
+	public void testBackpressurePolicy() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Executor blockingExecutor = command -> new Thread(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			command.run();
+		}).start();
+		AtomicInteger callerRuns = new AtomicInteger();
+		ApplicationListener<PingEvent> listener = new CountingListener(callerRuns);
+
+		AsyncApplicationEventMulticaster multicaster = new AsyncApplicationEventMulticaster();
+		multicaster.setExecutor(blockingExecutor);
+		multicaster.setQueueCapacity(1);
+		multicaster.addApplicationListener(listener);
+		PingEvent event = new PingEvent(this);
+
+		//队列已满时在发布事件的线程中执行
+		multicaster.setBackpressurePolicy(AsyncApplicationEventMulticaster.BackpressurePolicy.CALLER_RUNS);
+		multicaster.multicastEvent(event);
+		multicaster.multicastEvent(event);
+		assertThat(multicaster.getPendingCount()).isEqualTo(1);
+		assertThat(callerRuns.get()).isEqualTo(1);
+
+		//队列已满时丢弃
+		multicaster.setBackpressurePolicy(AsyncApplicationEventMulticaster.BackpressurePolicy.DISCARD);
+		multicaster.multicastEvent(event);
+		assertThat(callerRuns.get()).isEqualTo(1);
+
+		//队列已满时抛出异常
+		multicaster.setBackpressurePolicy(AsyncApplicationEventMulticaster.BackpressurePolicy.ABORT);
+		assertThatThrownBy(() -> multicaster.multicastEvent(event)).isInstanceOf(RejectedExecutionException.class);
+
+		//开始分发后不能修改队列容量
+		assertThatThrownBy(() -> multicaster.setQueueCapacity(4)).isInstanceOf(IllegalStateException.class);
+
+		release.countDown();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (multicaster.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(multicaster.getPendingCount()).isEqualTo(0);
+		assertThat(callerRuns.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testSynchronousListenerErrorPropagates() throws Exception {
+		AsyncApplicationEventMulticaster multicaster = new AsyncApplicationEventMulticaster();
+		multicaster.addApplicationListener((ApplicationListener<PingEvent>) event -> {
+			throw new IllegalStateException("listener failed");
+		});
+
+		//没有@AsyncListener注解的监听器在发布事件的线程中执行，异常抛给发布者
+		assertThatThrownBy(() -> multicaster.multicastEvent(new PingEvent(this)))
+				.isInstanceOf(IllegalStateException.class);
+		multicaster.destroy();
+	}
+
+	public static class PingEvent extends ApplicationEvent {
+
+		public PingEvent(Object source) {
+			super(source);
+		}
+	}
+
+	@AsyncListener
+	public static class CountingListener implements ApplicationListener<PingEvent> {
+
+		private final AtomicInteger count;
+
+		public CountingListener(AtomicInteger count) {
+			this.count = count;
+		}
+
+		@Override
+		public void onApplicationEvent(PingEvent event) {
+			count.incrementAndGet();
+		}
+	}
+}
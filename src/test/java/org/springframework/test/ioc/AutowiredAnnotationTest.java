@@ -1,7 +1,15 @@
 package org.springframework.test.ioc;
 
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.annotation.InjectionMetadata;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.bean.Car;
 import org.springframework.test.bean.Person;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,4 +27,93 @@ public class AutowiredAnnotationTest {
 		Person person = applicationContext.getBean(Person.class);
 		assertThat(person.getCar()).isNotNull();
 	}
+
+	@Test
+	public void testInjectionMetadataCachedPerClass() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		AutowiredAnnotationBeanPostProcessor processor = new AutowiredAnnotationBeanPostProcessor();
+		processor.setBeanFactory(beanFactory);
+		beanFactory.addBeanPostProcessor(processor);
+		beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+		BeanDefinition driverDefinition = new BeanDefinition(Driver.class);
+		driverDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		beanFactory.registerBeanDefinition("driver", driverDefinition);
+
+		Car car = beanFactory.getBean("car", Car.class);
+		for (int i = 0; i < 3; i++) {
+			Driver driver = beanFactory.getBean("driver", Driver.class);
+			//父类和子类的字段都被注入
+			assertThat(driver.getCar()).isSameAs(car);
+			assertThat(driver.qualifiedCar).isSameAs(car);
+			assertThat(driver.age).isEqualTo(18);
+		}
+
+		InjectionMetadata metadata = processor.findInjectionMetadata(Driver.class);
+		assertThat(processor.findInjectionMetadata(Driver.class)).isSameAs(metadata);
+		assertThat(metadata.isEmpty()).isFalse();
+		assertThat(processor.findInjectionMetadata(String.class)).isSameAs(InjectionMetadata.EMPTY);
+	}
+
+	@Test
+	public void testSetterInjection() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		AutowiredAnnotationBeanPostProcessor processor = new AutowiredAnnotationBeanPostProcessor();
+		processor.setBeanFactory(beanFactory);
+		beanFactory.addBeanPostProcessor(processor);
+		beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+		beanFactory.registerBeanDefinition("driver", new BeanDefinition(SetterDriver.class));
+
+		SetterDriver driver = beanFactory.getBean("driver", SetterDriver.class);
+		Car car = beanFactory.getBean("car", Car.class);
+		assertThat(driver.getCar()).isSameAs(car);
+		assertThat(driver.qualifiedCar).isSameAs(car);
+		assertThat(driver.brand).isEqualTo("porsche");
+		//子类覆盖并带注解的方法只注入一次
+		assertThat(driver.carInjections).isEqualTo(1);
+	}
+
+	public static class Driver extends Person {
+
+		@Autowired
+		@Qualifier("car")
+		private Car qualifiedCar;
+
+		@Value("18")
+		private int age;
+	}
+
+	public static class BaseSetterDriver extends Person {
+
+		int carInjections;
+
+		@Autowired
+		@Override
+		public void setCar(Car car) {
+			carInjections++;
+			super.setCar(car);
+		}
+	}
+
+	public static class SetterDriver extends BaseSetterDriver {
+
+		private Car qualifiedCar;
+
+		private String brand;
+
+		@Autowired
+		@Override
+		public void setCar(Car car) {
+			super.setCar(car);
+		}
+
+		@Autowired
+		public void setQualifiedCar(@Qualifier("car") Car qualifiedCar) {
+			this.qualifiedCar = qualifiedCar;
+		}
+
+		@Value("porsche")
+		public void setBrand(String brand) {
+			this.brand = brand;
+		}
+	}
 }
@@ -0,0 +1,189 @@
+package org.springframework.test.ioc;
+
+import org.junit.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.event.BatchApplicationListener;
+import org.springframework.context.event.BatchingApplicationListenerAdapter;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.common.event.CustomEvent;
+import org.springframework.test.common.event.CustomEventBatchListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class BatchApplicationListenerTest {
+
+	@Test
+	public void testBatchBySizeAndOnClose() throws Exception {
+		CustomEventBatchListener.batchSizes.clear();
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:batch-event-listener.xml");
+		for (int i = 0; i < 25; i++) {
+			applicationContext.publishEvent(new CustomEvent(applicationContext));
+		}
+		//数量达到10个时处理一批
+		assertThat(CustomEventBatchListener.batchSizes).containsExactly(10, 10);
+
+		//关闭容器时处理剩余的事件
+		applicationContext.close();
+		assertThat(CustomEventBatchListener.batchSizes).containsExactly(10, 10, 5);
+	}
+
+	@Test
+	public void testCoalescingWithinTimeWindow() throws Exception {
+		List<List<ConfigChangedEvent>> batches = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+		multicaster.addBatchApplicationListener(new ConfigChangedListener(batches, latch));
+
+		for (int i = 0; i < 1000; i++) {
+			multicaster.multicastEvent(new ConfigChangedEvent(this, "key" + (i % 3), i));
+		}
+		//其他类型的事件不会交给监听器
+		multicaster.multicastEvent(new ApplicationEvent(this) {
+		});
+		assertThat(batches).isEmpty();
+
+		//时间窗口到期后处理，每个key只保留最新的事件
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(batches).hasSize(1);
+		List<String> received = new ArrayList<>();
+		for (ConfigChangedEvent event : batches.get(0)) {
+			received.add(event.key + "=" + event.value);
+		}
+		assertThat(received).containsExactly("key1=997", "key2=998", "key0=999");
+	}
+
+	@Test
+	public void testRemoveBatchListenerClosesRegisteredAdapter() throws Exception {
+		List<List<ConfigChangedEvent>> batches = new CopyOnWriteArrayList<>();
+		ConfigChangedListener listener = new ConfigChangedListener(batches, new CountDownLatch(1));
+		SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+		multicaster.addBatchApplicationListener(listener);
+		multicaster.multicastEvent(new ConfigChangedEvent(this, "key0", 0));
+		assertThat(batches).isEmpty();
+
+		//删除时处理已注册的适配器中剩余的事件，之后不再收到事件
+		multicaster.removeBatchApplicationListener(listener);
+		assertThat(batches).hasSize(1);
+		assertThat(multicaster.getApplicationListeners()).isEmpty();
+		multicaster.multicastEvent(new ConfigChangedEvent(this, "key1", 1));
+		assertThat(batches).hasSize(1);
+	}
+
+	@Test
+	public void testSlowBatchListenerDoesNotDelayOthers() throws Exception {
+		CountDownLatch slowStarted = new CountDownLatch(1);
+		CountDownLatch releaseSlow = new CountDownLatch(1);
+		BatchingApplicationListenerAdapter<ConfigChangedEvent> slow = new BatchingApplicationListenerAdapter<>(new SlowConfigChangedListener(slowStarted, releaseSlow));
+		List<List<ConfigChangedEvent>> batches = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		BatchingApplicationListenerAdapter<ConfigChangedEvent> fast = new BatchingApplicationListenerAdapter<>(new ConfigChangedListener(batches, latch));
+		try {
+			slow.onApplicationEvent(new ConfigChangedEvent(this, "key0", 0));
+			assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+			//slow的定时线程阻塞时，fast的时间窗口照常到期
+			fast.onApplicationEvent(new ConfigChangedEvent(this, "key1", 1));
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(batches).hasSize(1);
+		} finally {
+			releaseSlow.countDown();
+		}
+
+		//关闭后slow的定时线程退出
+		slow.close();
+		fast.close();
+		long deadline = System.currentTimeMillis() + 5000;
+		while (hasFlusherThread() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(hasFlusherThread()).isFalse();
+	}
+
+	private boolean hasFlusherThread() {
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.isAlive() && thread.getName().endsWith("-SlowConfigChangedListener")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static class ConfigChangedEvent extends ApplicationEvent {
+
+		private final String key;
+
+		private final int value;
+
+		public ConfigChangedEvent(Object source, String key, int value) {
+			super(source);
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	public static class ConfigChangedListener implements BatchApplicationListener<ConfigChangedEvent> {
+
+		private final List<List<ConfigChangedEvent>> batches;
+
+		private final CountDownLatch latch;
+
+		public ConfigChangedListener(List<List<ConfigChangedEvent>> batches, CountDownLatch latch) {
+			this.batches = batches;
+			this.latch = latch;
+		}
+
+		@Override
+		public void onApplicationEvents(List<ConfigChangedEvent> events) {
+			batches.add(events);
+			latch.countDown();
+		}
+
+		@Override
+		public long getBatchWindowMillis() {
+			return 200;
+		}
+
+		@Override
+		public Object getCoalescingKey(ConfigChangedEvent event) {
+			return event.key;
+		}
+	}
+
+	public static class SlowConfigChangedListener implements BatchApplicationListener<ConfigChangedEvent> {
+
+		private final CountDownLatch started;
+
+		private final CountDownLatch release;
+
+		public SlowConfigChangedListener(CountDownLatch started, CountDownLatch release) {
+			this.started = started;
+			this.release = release;
+		}
+
+		@Override
+		public void onApplicationEvents(List<ConfigChangedEvent> events) {
+			started.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public long getBatchWindowMillis() {
+			return 10;
+		}
+	}
+}
@@ -1,6 +1,9 @@
 package org.springframework.test.ioc;
 
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.test.bean.Car;
@@ -8,6 +11,9 @@ import org.springframework.test.bean.Person;
 import org.springframework.test.common.CustomBeanFactoryPostProcessor;
 import org.springframework.test.common.CustomerBeanPostProcessor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -47,4 +53,35 @@ public class BeanFactoryPostProcessorAndBeanPostProcessorTest {
 		//brand属性在CustomerBeanPostProcessor中被修改为lamborghini
 		assertThat(car.getBrand()).isEqualTo("lamborghini");
 	}
+
+	@Test
+	public void testBeanPostProcessorChainPerCallback() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		XmlBeanDefinitionReader beanDefinitionReader = new XmlBeanDefinitionReader(beanFactory);
+		beanDefinitionReader.loadBeanDefinitions("classpath:spring.xml");
+
+		List<String> callbacks = new ArrayList<>();
+		AutowiredAnnotationBeanPostProcessor autowiredProcessor = new AutowiredAnnotationBeanPostProcessor();
+		autowiredProcessor.setBeanFactory(beanFactory);
+		beanFactory.addBeanPostProcessor(new CustomerBeanPostProcessor());
+		beanFactory.addBeanPostProcessor(autowiredProcessor);
+		//只覆盖了一个回调方法
+		beanFactory.addBeanPostProcessor(new InstantiationAwareBeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				callbacks.add(beanName);
+				return bean;
+			}
+		});
+		//重复添加时移到末尾
+		BeanPostProcessor first = beanFactory.getBeanPostProcessors().get(0);
+		beanFactory.addBeanPostProcessor(first);
+		assertThat(beanFactory.getBeanPostProcessors()).hasSize(3);
+		assertThat(beanFactory.getBeanPostProcessors().get(2)).isSameAs(first);
+
+		//AutowiredAnnotationBeanPostProcessor不再中断初始化前后的处理链
+		Car car = (Car) beanFactory.getBean("car");
+		assertThat(car.getBrand()).isEqualTo("lamborghini");
+		assertThat(callbacks).containsExactly("car");
+	}
 }
@@ -0,0 +1,94 @@
+package org.springframework.test.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.bean.Car;
+import org.springframework.test.bean.Person;
+import org.springframework.test.service.HelloService;
+import org.springframework.test.service.WorldService;
+import org.springframework.test.service.WorldServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 按类型查找beanName走类型索引
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class BeanNamesForTypeIndexTest {
+
+	private static final int BEAN_COUNT = 5000;
+
+	private static final Class<?>[] BEAN_CLASSES = {Car.class, Person.class, HelloService.class, WorldServiceImpl.class};
+
+	private static final Class<?>[] LOOKUP_TYPES = {Car.class, Person.class, DisposableBean.class, BeanFactoryAware.class, WorldService.class, Object.class, Runnable.class};
+
+	@Test
+	public void testTypeIndexMatchesLinearScan() throws Exception {
+		DefaultListableBeanFactory beanFactory = createBeanFactory();
+		for (Class<?> type : LOOKUP_TYPES) {
+			assertThat(beanFactory.getBeanNamesForType(type)).containsExactly(scanBeanNamesForType(beanFactory, type));
+		}
+		assertThat(beanFactory.getBeanNamesForType(Object.class)).hasSize(BEAN_COUNT);
+		assertThat(beanFactory.getBeanNamesForType(Runnable.class)).isEmpty();
+
+		//覆盖BeanDefinition后旧类型的索引被移除
+		beanFactory.registerBeanDefinition("bean0", new BeanDefinition(Person.class));
+		assertThat(beanFactory.getBeanNamesForType(Car.class)).doesNotContain("bean0");
+		assertThat(beanFactory.getBeanNamesForType(Person.class)).contains("bean0");
+
+		beanFactory.freezeConfiguration();
+		for (Class<?> type : LOOKUP_TYPES) {
+			assertThat(beanFactory.getBeanNamesForType(type)).containsExactly(scanBeanNamesForType(beanFactory, type));
+		}
+		assertThatThrownBy(() -> beanFactory.registerBeanDefinition("late", new BeanDefinition(Car.class)))
+				.isInstanceOf(BeansException.class);
+	}
+
+	@Test
+	public void testTypeIndexInvalidatedOnRegistration() throws Exception {
+		DefaultListableBeanFactory beanFactory = createBeanFactory();
+		String[] cars = beanFactory.getBeanNamesForType(Car.class);
+		assertThat(beanFactory.getBeanNamesForType(Car.class)).containsExactly(cars);
+		assertThat(beanFactory.getBeanNamesForType(Runnable.class)).isEmpty();
+
+		//注册新的BeanDefinition后，已经查找过的类型重新计算
+		beanFactory.registerBeanDefinition("newCar", new BeanDefinition(Car.class));
+		assertThat(beanFactory.getBeanNamesForType(Car.class)).hasSize(cars.length + 1).endsWith("newCar");
+		beanFactory.registerBeanDefinition("runnable", new BeanDefinition(Thread.class));
+		assertThat(beanFactory.getBeanNamesForType(Runnable.class)).containsExactly("runnable");
+		for (Class<?> type : LOOKUP_TYPES) {
+			assertThat(beanFactory.getBeanNamesForType(type)).containsExactly(scanBeanNamesForType(beanFactory, type));
+		}
+	}
+
+	private DefaultListableBeanFactory createBeanFactory() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		for (int i = 0; i < BEAN_COUNT; i++) {
+			beanFactory.registerBeanDefinition("bean" + i, new BeanDefinition(BEAN_CLASSES[i % BEAN_CLASSES.length]));
+		}
+		return beanFactory;
+	}
+
+	/**
+	 * 建立索引之前的实现：遍历所有BeanDefinition
+	 */
+	private String[] scanBeanNamesForType(DefaultListableBeanFactory beanFactory, Class<?> type) {
+		List<String> beanNames = new ArrayList<>();
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			if (type.isAssignableFrom(beanFactory.getBeanDefinition(beanName).getBeanClass())) {
+				beanNames.add(beanName);
+			}
+		}
+		return beanNames.toArray(new String[0]);
+	}
+}
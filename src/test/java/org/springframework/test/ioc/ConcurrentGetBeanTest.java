@@ -0,0 +1,184 @@
+package org.springframework.test.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.test.bean.A;
+import org.springframework.test.bean.B;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 多线程并发getBean，单例只创建一次且循环依赖（含代理）的引用一致
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class ConcurrentGetBeanTest {
+
+	private static final int THREADS = 8;
+
+	private static final int ROUNDS = 30;
+
+	@Test
+	public void testConcurrentGetBeanWithCircularReference() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (int round = 0; round < ROUNDS; round++) {
+				DefaultListableBeanFactory beanFactory = createBeanFactory("classpath:circular-reference-with-proxy-bean.xml");
+				CountDownLatch startGate = new CountDownLatch(1);
+				List<Future<Object[]>> futures = new ArrayList<>();
+				for (int i = 0; i < THREADS; i++) {
+					//一半线程先取a，一半线程先取b，制造跨线程的循环依赖
+					boolean aFirst = i % 2 == 0;
+					futures.add(executor.submit(new Callable<Object[]>() {
+						@Override
+						public Object[] call() throws Exception {
+							startGate.await();
+							if (aFirst) {
+								Object a = beanFactory.getBean("a");
+								return new Object[]{a, beanFactory.getBean("b")};
+							}
+							Object b = beanFactory.getBean("b");
+							return new Object[]{beanFactory.getBean("a"), b};
+						}
+					}));
+				}
+				startGate.countDown();
+
+				Object[] expected = futures.get(0).get(10, TimeUnit.SECONDS);
+				for (Future<Object[]> future : futures) {
+					Object[] beans = future.get(10, TimeUnit.SECONDS);
+					assertThat(beans[0]).isSameAs(expected[0]);
+					assertThat(beans[1]).isSameAs(expected[1]);
+				}
+				A a = (A) expected[0];
+				B b = (B) expected[1];
+				assertThat(b.getA()).isSameAs(a);
+				assertThat(a.getB()).isSameAs(b);
+				assertThat(a.getClass()).isNotEqualTo(A.class);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testConcurrentGetBeanCreatesSingletonOnce() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (int round = 0; round < ROUNDS; round++) {
+				DefaultListableBeanFactory beanFactory = createBeanFactory("classpath:circular-reference-without-proxy-bean.xml");
+				CountDownLatch startGate = new CountDownLatch(1);
+				List<Future<Object>> futures = new ArrayList<>();
+				for (int i = 0; i < THREADS; i++) {
+					String beanName = i % 2 == 0 ? "a" : "b";
+					futures.add(executor.submit(() -> {
+						startGate.await();
+						return beanFactory.getBean(beanName);
+					}));
+				}
+				startGate.countDown();
+
+				A a = beanFactory.getBean("a", A.class);
+				B b = beanFactory.getBean("b", B.class);
+				for (int i = 0; i < THREADS; i++) {
+					Object bean = futures.get(i).get(10, TimeUnit.SECONDS);
+					assertThat(bean).isSameAs(i % 2 == 0 ? a : b);
+				}
+				assertThat(a.getB()).isSameAs(b);
+				assertThat(b.getA()).isSameAs(a);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testCircularReferenceAcrossThreads() throws Exception {
+		for (String location : new String[]{"classpath:circular-reference-without-proxy-bean.xml", "classpath:circular-reference-with-proxy-bean.xml"}) {
+			DefaultListableBeanFactory beanFactory = createBeanFactory(location);
+			//a和b都实例化之后才继续填充属性，保证两个线程分别持有a和b的创建锁并互相等待
+			beanFactory.addBeanPostProcessor(new BarrierBeanPostProcessor(new CyclicBarrier(2)));
+
+			ExecutorService executor = Executors.newFixedThreadPool(2);
+			try {
+				Future<Object> futureA = executor.submit(() -> beanFactory.getBean("a"));
+				Future<Object> futureB = executor.submit(() -> beanFactory.getBean("b"));
+				A a = (A) futureA.get(10, TimeUnit.SECONDS);
+				B b = (B) futureB.get(10, TimeUnit.SECONDS);
+
+				assertThat(beanFactory.getBean("a")).isSameAs(a);
+				assertThat(beanFactory.getBean("b")).isSameAs(b);
+				assertThat(a.getB()).isSameAs(b);
+				assertThat(b.getA()).isSameAs(a);
+			} finally {
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private DefaultListableBeanFactory createBeanFactory(String location) {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions(location);
+		for (BeanPostProcessor beanPostProcessor : beanFactory.getBeansOfType(BeanPostProcessor.class).values()) {
+			beanFactory.addBeanPostProcessor(beanPostProcessor);
+		}
+		return beanFactory;
+	}
+
+	private static class BarrierBeanPostProcessor implements InstantiationAwareBeanPostProcessor {
+
+		private final CyclicBarrier barrier;
+
+		private BarrierBeanPostProcessor(CyclicBarrier barrier) {
+			this.barrier = barrier;
+		}
+
+		@Override
+		public boolean postProcessAfterInstantiation(Object bean, String beanName) throws BeansException {
+			if (bean instanceof A || bean instanceof B) {
+				try {
+					barrier.await(5, TimeUnit.SECONDS);
+				} catch (Exception e) {
+					throw new BeansException("Barrier broken", e);
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+			return null;
+		}
+
+		@Override
+		public PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName) throws BeansException {
+			return pvs;
+		}
+
+		@Override
+		public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+			return bean;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+			return bean;
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package org.springframework.test.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.test.bean.Car;
+import org.springframework.test.bean.Garage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 构造函数注入
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class ConstructorInjectionTest {
+
+	@Test
+	public void testConstructorArgInXml() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:constructor-injection.xml");
+
+		Garage garage = beanFactory.getBean("garage", Garage.class);
+		assertThat(garage.getName()).isEqualTo("home");
+		assertThat(garage.getCapacity()).isEqualTo(2);
+		assertThat(garage.getCar()).isSameAs(beanFactory.getBean("car"));
+		assertThat(garage.getCar().getBrand()).isEqualTo("porsche");
+
+		//原型bean再次创建时直接使用缓存的构造函数和参数
+		BeanDefinition beanDefinition = beanFactory.getBeanDefinition("garage");
+		Object[] preparedArguments = beanDefinition.getPreparedConstructorArguments();
+		assertThat(preparedArguments).isNotNull();
+		Garage anotherGarage = beanFactory.getBean("garage", Garage.class);
+		assertThat(anotherGarage).isNotSameAs(garage);
+		assertThat(anotherGarage.getCar()).isSameAs(garage.getCar());
+		assertThat(beanDefinition.getPreparedConstructorArguments()).isSameAs(preparedArguments);
+
+		//没有构造函数参数时使用无参构造函数
+		assertThat(beanFactory.getBean("emptyGarage", Garage.class).getName()).isEqualTo("default");
+	}
+
+	@Test
+	public void testConstructorArgWithoutValue() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(beanFactory);
+
+		//既没有value也没有ref的constructor-arg在解析时报错
+		assertThatThrownBy(() -> reader.loadBeanDefinitions("classpath:constructor-arg-without-value.xml"))
+				.isInstanceOf(BeansException.class)
+				.hasMessageContaining("value or ref");
+	}
+
+	@Test
+	public void testAutowiredConstructor() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		AutowiredAnnotationBeanPostProcessor processor = new AutowiredAnnotationBeanPostProcessor();
+		processor.setBeanFactory(beanFactory);
+		beanFactory.addBeanPostProcessor(processor);
+		beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+		beanFactory.registerBeanDefinition("garage", new BeanDefinition(Garage.class));
+		beanFactory.registerBeanDefinition("parking", new BeanDefinition(Parking.class));
+
+		Garage garage = beanFactory.getBean("garage", Garage.class);
+		assertThat(garage.getName()).isEqualTo("autowired");
+		assertThat(garage.getCar()).isSameAs(beanFactory.getBean("car"));
+
+		//只有一个有参构造函数时自动注入
+		Parking parking = beanFactory.getBean("parking", Parking.class);
+		assertThat(parking.garage).isSameAs(garage);
+	}
+
+	public static class Parking {
+
+		private final Garage garage;
+
+		public Parking(Garage garage) {
+			this.garage = garage;
+		}
+	}
+}
@@ -1,9 +1,22 @@
 package org.springframework.test.ioc;
 
 import org.junit.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.core.Ordered;
 import org.springframework.test.common.event.CustomEvent;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * @author derekyi
  * @date 2020/12/5
@@ -17,4 +30,152 @@ public class EventAndEventListenerTest {
 
 		applicationContext.registerShutdownHook();//或者applicationContext.close()主动关闭容器;
 	}
+
+	@Test
+	public void testListenerEventTypeResolution() throws Exception {
+		List<String> received = new ArrayList<>();
+		SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+		//第一个接口不是ApplicationListener
+		multicaster.addApplicationListener(new SerializableOrderListener(received));
+		//通过泛型父类间接实现ApplicationListener
+		multicaster.addApplicationListener(new PaymentListener(received));
+		//监听所有事件
+		ApplicationListener<ApplicationEvent> allEventsListener = event -> received.add("all:" + event.getClass().getSimpleName());
+		multicaster.addApplicationListener(allEventsListener);
+
+		multicaster.multicastEvent(new OrderEvent(this));
+		multicaster.multicastEvent(new PaymentEvent(this));
+		assertThat(received).containsExactly("order", "all:OrderEvent", "payment", "all:PaymentEvent");
+
+		//监听器变化后重新匹配
+		received.clear();
+		multicaster.removeApplicationListener(allEventsListener);
+		multicaster.multicastEvent(new OrderEvent(this));
+		multicaster.multicastEvent(new PaymentEvent(this));
+		assertThat(received).containsExactly("order", "payment");
+	}
+
+	@Test
+	public void testOrderedListeners() throws Exception {
+		List<String> received = new ArrayList<>();
+		SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+		multicaster.addApplicationListener(new OrderedListener(received, "default-1", null));
+		multicaster.addApplicationListener(new OrderedListener(received, "last", 100));
+		multicaster.addApplicationListener(new OrderedListener(received, "first", Ordered.HIGHEST_PRECEDENCE));
+		multicaster.addApplicationListener(new OrderedListener(received, "default-2", null));
+		multicaster.addApplicationListener(new OrderedListener(received, "second", 0));
+
+		multicaster.multicastEvent(new OrderEvent(this));
+		//按优先级调用，没有实现Ordered的按注册顺序排在最后
+		assertThat(received).containsExactly("first", "second", "last", "default-1", "default-2");
+	}
+
+	@Test
+	public void testAddListenersWhilePublishing() throws Exception {
+		SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+		AtomicInteger count = new AtomicInteger();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		AtomicBoolean running = new AtomicBoolean(true);
+		Thread publisher = new Thread(() -> {
+			try {
+				while (running.get()) {
+					multicaster.multicastEvent(new OrderEvent(this));
+				}
+			} catch (Throwable ex) {
+				failure.set(ex);
+			}
+		});
+		publisher.start();
+		List<ApplicationListener<OrderEvent>> listeners = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			ApplicationListener<OrderEvent> listener = event -> count.incrementAndGet();
+			listeners.add(listener);
+			multicaster.addApplicationListener(listener);
+			if (i % 2 == 0) {
+				multicaster.removeApplicationListener(listeners.get(i / 2));
+			}
+		}
+		running.set(false);
+		publisher.join();
+
+		assertThat(failure.get()).isNull();
+		assertThat(multicaster.getApplicationListeners()).hasSize(1000);
+	}
+
+	public static class OrderEvent extends ApplicationEvent {
+
+		public OrderEvent(Object source) {
+			super(source);
+		}
+	}
+
+	public static class PaymentEvent extends ApplicationEvent {
+
+		public PaymentEvent(Object source) {
+			super(source);
+		}
+	}
+
+	public static class SerializableOrderListener implements Serializable, ApplicationListener<OrderEvent> {
+
+		private final List<String> received;
+
+		public SerializableOrderListener(List<String> received) {
+			this.received = received;
+		}
+
+		@Override
+		public void onApplicationEvent(OrderEvent event) {
+			received.add("order");
+		}
+	}
+
+	public static class OrderedListener implements ApplicationListener<OrderEvent>, Ordered {
+
+		private final List<String> received;
+
+		private final String name;
+
+		private final Integer order;
+
+		public OrderedListener(List<String> received, String name, Integer order) {
+			this.received = received;
+			this.name = name;
+			this.order = order;
+		}
+
+		@Override
+		public void onApplicationEvent(OrderEvent event) {
+			received.add(name);
+		}
+
+		@Override
+		public int getOrder() {
+			return order != null ? order : Ordered.LOWEST_PRECEDENCE;
+		}
+	}
+
+	public abstract static class RecordingListener<E extends ApplicationEvent> implements ApplicationListener<E> {
+
+		private final List<String> received;
+
+		private final String name;
+
+		protected RecordingListener(List<String> received, String name) {
+			this.received = received;
+			this.name = name;
+		}
+
+		@Override
+		public void onApplicationEvent(E event) {
+			received.add(name);
+		}
+	}
+
+	public static class PaymentListener extends RecordingListener<PaymentEvent> {
+
+		public PaymentListener(List<String> received) {
+			super(received, "payment");
+		}
+	}
 }
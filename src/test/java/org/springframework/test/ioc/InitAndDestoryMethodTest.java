@@ -1,7 +1,16 @@
 package org.springframework.test.ioc;
 
 import org.junit.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanMetadata;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.bean.Car;
+import org.springframework.test.bean.Person;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author derekyi
@@ -14,4 +23,22 @@ public class InitAndDestoryMethodTest {
 		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:init-and-destroy-method.xml");
 		applicationContext.registerShutdownHook();  //或者手动关闭 applicationContext.close();
 	}
+
+	@Test
+	public void testFrozenBeanMetadata() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:init-and-destroy-method.xml");
+		DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) applicationContext.getBeanFactory();
+
+		//容器刷新后配置已冻结，初始化和销毁方法已预先解析
+		assertThat(beanFactory.isConfigurationFrozen()).isTrue();
+		BeanMetadata metadata = beanFactory.getBeanMetadata("person");
+		assertThat(beanFactory.getBeanMetadata("person")).isSameAs(metadata);
+		assertThat(metadata.getBeanClass()).isEqualTo(Person.class);
+		assertThat(metadata.isFactoryBean()).isFalse();
+		assertThat(metadata.getInitMethod().getName()).isEqualTo("customInitMethod");
+		assertThat(metadata.getDestroyMethod().getName()).isEqualTo("customDestroyMethod");
+		assertThatThrownBy(() -> beanFactory.registerBeanDefinition("anotherCar", new BeanDefinition(Car.class)))
+				.isInstanceOf(BeansException.class);
+		applicationContext.close();
+	}
 }
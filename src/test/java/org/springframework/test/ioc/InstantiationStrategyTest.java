@@ -0,0 +1,69 @@
+package org.springframework.test.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.CglibSubclassingInstantiationStrategy;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.InstantiationStrategy;
+import org.springframework.beans.factory.support.SimpleInstantiationStrategy;
+import org.springframework.test.bean.Car;
+
+import java.lang.invoke.MethodHandle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 实例化策略缓存构造函数，CGLIB策略缓存生成的子类
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class InstantiationStrategyTest {
+
+	@Test
+	public void testSimpleInstantiationStrategyCachesConstructor() throws Exception {
+		InstantiationStrategy strategy = new SimpleInstantiationStrategy();
+		BeanDefinition beanDefinition = new BeanDefinition(Car.class);
+
+		Object car = strategy.instantiate(beanDefinition);
+		MethodHandle constructorHandle = beanDefinition.getResolvedConstructorHolder().getConstructorHandle();
+		assertThat(car).isExactlyInstanceOf(Car.class);
+		assertThat(constructorHandle).isNotNull();
+		assertThat(strategy.instantiate(beanDefinition)).isNotSameAs(car);
+		assertThat(beanDefinition.getResolvedConstructorHolder().getConstructorHandle()).isSameAs(constructorHandle);
+
+		//修改beanClass后重新解析构造函数
+		beanDefinition.setBeanClass(StringBuilder.class);
+		assertThat(strategy.instantiate(beanDefinition)).isExactlyInstanceOf(StringBuilder.class);
+	}
+
+	@Test
+	public void testCglibSubclassingInstantiationStrategy() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setInstantiationStrategy(new CglibSubclassingInstantiationStrategy());
+		PropertyValues propertyValues = new PropertyValues();
+		propertyValues.addPropertyValue(new PropertyValue("brand", "porsche"));
+		BeanDefinition beanDefinition = new BeanDefinition(Car.class, propertyValues);
+		beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		beanFactory.registerBeanDefinition("car", beanDefinition);
+
+		Car car = beanFactory.getBean("car", Car.class);
+		Car anotherCar = beanFactory.getBean("car", Car.class);
+		assertThat(car.getClass()).isNotEqualTo(Car.class);
+		assertThat(car.getClass().getSuperclass()).isEqualTo(Car.class);
+		assertThat(car.getBrand()).isEqualTo("porsche");
+		//同一个类的子类只生成一次
+		assertThat(anotherCar.getClass()).isSameAs(car.getClass());
+		assertThat(anotherCar).isNotSameAs(car);
+
+		BeanDefinition otherDefinition = new BeanDefinition(Car.class);
+		Object otherCar = beanFactory.getInstantiationStrategy().instantiate(otherDefinition);
+		assertThat(otherCar.getClass()).isSameAs(car.getClass());
+
+		//其他策略不复用CGLIB子类的构造函数
+		assertThat(new SimpleInstantiationStrategy().instantiate(otherDefinition)).isExactlyInstanceOf(Car.class);
+		assertThat(beanFactory.getInstantiationStrategy().instantiate(otherDefinition).getClass()).isSameAs(car.getClass());
+	}
+}
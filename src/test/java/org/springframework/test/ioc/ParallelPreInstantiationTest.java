@@ -0,0 +1,156 @@
+package org.springframework.test.ioc;
+
+import org.junit.Test;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.SingletonDependencyGraph;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.test.bean.A;
+import org.springframework.test.bean.B;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 根据依赖图并行提前实例化单例bean
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class ParallelPreInstantiationTest {
+
+	@Test
+	public void testParallelPreInstantiation() throws Exception {
+		List<String> initOrder = SlowInitBean.INIT_ORDER;
+		initOrder.clear();
+		//pool1、pool2、pool3初始化时互相等待，只有同时初始化才能通过
+		SlowInitBean.barrier = new CyclicBarrier(3);
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setParallelPreInstantiation(true);
+		beanFactory.setPreInstantiationParallelism(4);
+		//pool1、pool2、pool3互不依赖，warmer依赖pool1
+		registerSlowBean(beanFactory, "pool1", null, true);
+		registerSlowBean(beanFactory, "pool2", null, true);
+		registerSlowBean(beanFactory, "pool3", null, true);
+		registerSlowBean(beanFactory, "warmer", "pool1", false);
+
+		beanFactory.preInstantiateSingletons();
+
+		assertThat(SlowInitBean.barrier.isBroken()).isFalse();
+		assertThat(initOrder).hasSize(4);
+		assertThat(initOrder.indexOf("pool1")).isLessThan(initOrder.indexOf("warmer"));
+		SlowInitBean warmer = beanFactory.getBean("warmer", SlowInitBean.class);
+		assertThat(warmer.getDependency()).isSameAs(beanFactory.getBean("pool1"));
+		assertThat(beanFactory.getSingletonInstantiationTimes()).containsKeys("pool1", "pool2", "pool3", "warmer");
+	}
+
+	@Test
+	public void testParallelPreInstantiationWithCircularReference() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setParallelPreInstantiation(true);
+		new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:circular-reference-with-proxy-bean.xml");
+		for (BeanPostProcessor beanPostProcessor : beanFactory.getBeansOfType(BeanPostProcessor.class).values()) {
+			beanFactory.addBeanPostProcessor(beanPostProcessor);
+		}
+
+		beanFactory.preInstantiateSingletons();
+
+		A a = beanFactory.getBean("a", A.class);
+		B b = beanFactory.getBean("b", B.class);
+		assertThat(b.getA()).isSameAs(a);
+		assertThat(a.getB()).isSameAs(b);
+	}
+
+	@Test
+	public void testDependencyGraphWithAutowiredSetterAndConstructor() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setParallelPreInstantiation(true);
+		AutowiredAnnotationBeanPostProcessor processor = new AutowiredAnnotationBeanPostProcessor();
+		processor.setBeanFactory(beanFactory);
+		beanFactory.addBeanPostProcessor(processor);
+		beanFactory.registerBeanDefinition("controller", new BeanDefinition(SetterInjectedController.class));
+		beanFactory.registerBeanDefinition("service", new BeanDefinition(ConstructorInjectedService.class));
+		beanFactory.registerBeanDefinition("repository", new BeanDefinition(Repository.class));
+
+		//@Autowired setter方法和唯一的有参构造函数的参数都是依赖
+		SingletonDependencyGraph dependencyGraph = new SingletonDependencyGraph(beanFactory, Arrays.asList("controller", "service", "repository"));
+		assertThat(dependencyGraph.getDependencies("controller")).containsExactly("service");
+		assertThat(dependencyGraph.getDependencies("service")).containsExactly("repository");
+		assertThat(dependencyGraph.getDependencies("repository")).isEmpty();
+
+		beanFactory.preInstantiateSingletons();
+		SetterInjectedController controller = beanFactory.getBean("controller", SetterInjectedController.class);
+		assertThat(controller.service).isSameAs(beanFactory.getBean("service"));
+		assertThat(controller.service.repository).isSameAs(beanFactory.getBean("repository"));
+	}
+
+	private void registerSlowBean(DefaultListableBeanFactory beanFactory, String beanName, String dependency, boolean awaitOthers) {
+		PropertyValues propertyValues = new PropertyValues();
+		propertyValues.addPropertyValue(new PropertyValue("name", beanName));
+		propertyValues.addPropertyValue(new PropertyValue("awaitOthers", awaitOthers));
+		if (dependency != null) {
+			propertyValues.addPropertyValue(new PropertyValue("dependency", new BeanReference(dependency)));
+		}
+		beanFactory.registerBeanDefinition(beanName, new BeanDefinition(SlowInitBean.class, propertyValues));
+	}
+
+	public static class Repository {
+	}
+
+	public static class ConstructorInjectedService {
+
+		private final Repository repository;
+
+		public ConstructorInjectedService(Repository repository) {
+			this.repository = repository;
+		}
+	}
+
+	public static class SetterInjectedController {
+
+		private ConstructorInjectedService service;
+
+		@Autowired
+		public void setService(ConstructorInjectedService service) {
+			this.service = service;
+		}
+	}
+
+	public static class SlowInitBean implements InitializingBean {
+
+		static final List<String> INIT_ORDER = new CopyOnWriteArrayList<>();
+
+		static volatile CyclicBarrier barrier;
+
+		private String name;
+
+		private Object dependency;
+
+		private boolean awaitOthers;
+
+		@Override
+		public void afterPropertiesSet() throws Exception {
+			if (awaitOthers) {
+				//串行初始化时等待超时，bean创建失败
+				barrier.await(10, TimeUnit.SECONDS);
+			}
+			INIT_ORDER.add(name);
+		}
+
+		public Object getDependency() {
+			return dependency;
+		}
+	}
+}
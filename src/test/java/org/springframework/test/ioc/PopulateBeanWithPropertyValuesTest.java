@@ -1,15 +1,22 @@
 package org.springframework.test.ioc;
 
 import org.junit.Test;
+import org.springframework.beans.CachedIntrospectionResults;
 import org.springframework.beans.PropertyValue;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import org.springframework.test.bean.Car;
 import org.springframework.test.bean.Person;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author derekyi
@@ -64,4 +71,126 @@ public class PopulateBeanWithPropertyValuesTest {
 		assertThat(car).isNotNull();
 		assertThat(car.getBrand()).isEqualTo("porsche");
 	}
+
+	@Test
+	public void testPopulateBeanWithCachedPropertyAccessors() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		PropertyValues propertyValues = new PropertyValues();
+		propertyValues.addPropertyValue(new PropertyValue("name", "derek"));
+		//字符串转换为int
+		propertyValues.addPropertyValue(new PropertyValue("age", "18"));
+		//泛型字段
+		propertyValues.addPropertyValue(new PropertyValue("tags", Arrays.asList("a", "b")));
+		BeanDefinition beanDefinition = new BeanDefinition(Member.class, propertyValues);
+		beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		beanFactory.registerBeanDefinition("member", beanDefinition);
+
+		Member member = (Member) beanFactory.getBean("member");
+		//有setter方法时通过setter方法设置
+		assertThat(member.getName()).isEqualTo("derek!");
+		assertThat(member.age).isEqualTo(18);
+		assertThat(member.tags).containsExactly("a", "b");
+
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(Member.class);
+		assertThat(CachedIntrospectionResults.forClass(Member.class)).isSameAs(results);
+		assertThat(results.getPropertyAccessor("age")).isSameAs(results.getPropertyAccessor("age"));
+		assertThat(results.getPropertyAccessor("age").getPropertyType()).isEqualTo(int.class);
+		assertThat(((Member) beanFactory.getBean("member")).getName()).isEqualTo("derek!");
+	}
+
+	@Test
+	public void testPostProcessedPropertyValuesDoNotChangeBeanDefinition() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		PropertyValues propertyValues = new PropertyValues();
+		propertyValues.addPropertyValue(new PropertyValue("name", "derek"));
+		BeanDefinition beanDefinition = new BeanDefinition(Person.class, propertyValues);
+		beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		beanFactory.registerBeanDefinition("person", beanDefinition);
+		beanFactory.addBeanPostProcessor(new InstantiationAwareBeanPostProcessor() {
+			@Override
+			public PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName) {
+				PropertyValues override = new PropertyValues();
+				override.addPropertyValue(new PropertyValue("age", 18));
+				return override;
+			}
+		});
+
+		for (int i = 0; i < 2; i++) {
+			Person person = (Person) beanFactory.getBean("person");
+			assertThat(person.getName()).isEqualTo("derek");
+			assertThat(person.getAge()).isEqualTo(18);
+		}
+		//BeanPostProcessor返回的属性值只对本次创建有效
+		assertThat(beanDefinition.getPropertyValues()).isSameAs(propertyValues);
+		assertThat(propertyValues.size()).isEqualTo(1);
+		assertThat(propertyValues.getPropertyValue("age")).isNull();
+
+		PropertyValues other = new PropertyValues();
+		other.addPropertyValue(new PropertyValue("name", "ivy"));
+		PropertyValues merged = propertyValues.merge(other);
+		assertThat(merged.getPropertyValue("name").getValue()).isEqualTo("ivy");
+		assertThat(propertyValues.getPropertyValue("name").getValue()).isEqualTo("derek");
+		assertThat(propertyValues.merge(new PropertyValues())).isSameAs(propertyValues);
+	}
+
+	@Test
+	public void testPropertyValuesNotExposedForModification() throws Exception {
+		PropertyValues propertyValues = new PropertyValues();
+		List<PropertyValue> values = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			values.add(new PropertyValue("p" + i, i));
+		}
+		values.add(new PropertyValue("p3", "override"));
+		propertyValues.addPropertyValues(values);
+		//同名属性覆盖原有的属性值并保留位置
+		assertThat(propertyValues.size()).isEqualTo(20);
+		assertThat(propertyValues.getPropertyValue("p3").getValue()).isEqualTo("override");
+		assertThat(propertyValues.asList().get(3).getName()).isEqualTo("p3");
+		assertThat(propertyValues.getPropertyValue("p19").getValue()).isEqualTo(19);
+
+		//返回的数组是副本，列表不能修改
+		propertyValues.getPropertyValues()[0] = new PropertyValue("p0", "changed");
+		assertThat(propertyValues.getPropertyValue("p0").getValue()).isEqualTo(0);
+		assertThatThrownBy(() -> propertyValues.asList().set(0, new PropertyValue("p0", "changed")))
+				.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void testPropertyValuesPassedToPostProcessorAreCopy() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		PropertyValues propertyValues = new PropertyValues();
+		propertyValues.addPropertyValue(new PropertyValue("name", "derek"));
+		beanFactory.registerBeanDefinition("person", new BeanDefinition(Person.class, propertyValues));
+		beanFactory.addBeanPostProcessor(new InstantiationAwareBeanPostProcessor() {
+			@Override
+			public PropertyValues postProcessPropertyValues(PropertyValues pvs, Object bean, String beanName) {
+				//直接修改收到的属性值
+				assertThat(pvs).isNotSameAs(propertyValues);
+				pvs.addPropertyValue(new PropertyValue("age", 18));
+				return pvs;
+			}
+		});
+
+		Person person = (Person) beanFactory.getBean("person");
+		assertThat(person.getAge()).isEqualTo(18);
+		assertThat(propertyValues.size()).isEqualTo(1);
+		assertThat(propertyValues.getPropertyValue("age")).isNull();
+	}
+
+	public static class Member {
+
+		private String name;
+
+		private int age;
+
+		private List<String> tags;
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name + "!";
+		}
+	}
 }
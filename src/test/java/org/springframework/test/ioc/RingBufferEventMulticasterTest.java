@@ -0,0 +1,216 @@
+package org.springframework.test.ioc;
+
+import org.junit.Test;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.RingBufferApplicationEventMulticaster;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.test.common.event.CustomEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class RingBufferEventMulticasterTest {
+
+	@Test
+	public void testRingBufferMulticaster() throws Exception {
+		RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+		multicaster.setBufferSize(256);
+		multicaster.setWorkerCount(2);
+		multicaster.setWaitStrategy(RingBufferApplicationEventMulticaster.WaitStrategy.YIELDING);
+		SequenceListener first = new SequenceListener();
+		SequenceListener second = new SequenceListener();
+		multicaster.addApplicationListener(first);
+		multicaster.addApplicationListener(second);
+		multicaster.addApplicationListener(new FailingListener());
+
+		int producers = 4;
+		int eventsPerProducer = 50000;
+		CountDownLatch startLatch = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int producer = p;
+			Thread thread = new Thread(() -> {
+				try {
+					startLatch.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				for (int i = 0; i < eventsPerProducer; i++) {
+					multicaster.multicastEvent(new TickEvent(this, producer, i));
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		startLatch.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		//关闭时等待已发布的事件处理完
+		multicaster.destroy();
+
+		long total = (long) producers * eventsPerProducer;
+		assertThat(multicaster.getPublishedCount()).isEqualTo(total);
+		assertThat(multicaster.getConsumedCount()).isEqualTo(total);
+		assertThat(multicaster.getQueueDepth()).isEqualTo(0);
+		assertThat(multicaster.getBatchCount()).isGreaterThan(0).isLessThanOrEqualTo(total * 2);
+		//监听器出错不影响其他监听器，每个监听器按发布顺序收到同一个线程发布的事件
+		for (SequenceListener listener : new SequenceListener[]{first, second}) {
+			assertThat(listener.count.get()).isEqualTo(total);
+			assertThat(listener.outOfOrder).isFalse();
+		}
+
+		//关闭后同步调用
+		multicaster.multicastEvent(new TickEvent(this, 0, eventsPerProducer));
+		assertThat(first.count.get()).isEqualTo(total + 1);
+	}
+
+	@Test
+	public void testNoEventLostOnShutdown() throws Exception {
+		for (int round = 0; round < 5; round++) {
+			RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+			multicaster.setBufferSize(64);
+			multicaster.setWaitStrategy(RingBufferApplicationEventMulticaster.WaitStrategy.YIELDING);
+			CountingListener listener = new CountingListener();
+			multicaster.addApplicationListener(listener);
+
+			int producers = 4;
+			int eventsPerProducer = 20000;
+			CountDownLatch startLatch = new CountDownLatch(1);
+			List<Thread> threads = new ArrayList<>();
+			for (int p = 0; p < producers; p++) {
+				Thread thread = new Thread(() -> {
+					try {
+						startLatch.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					for (int i = 0; i < eventsPerProducer; i++) {
+						multicaster.multicastEvent(new TickEvent(this, 0, i));
+					}
+				});
+				thread.start();
+				threads.add(thread);
+			}
+			startLatch.countDown();
+			//发布过程中关闭，关闭前占用序号的事件由工作线程处理，之后的事件同步调用
+			Thread.sleep(5);
+			multicaster.destroy();
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			assertThat(listener.count.get()).isEqualTo((long) producers * eventsPerProducer);
+			assertThat(multicaster.getConsumedCount()).isEqualTo(multicaster.getPublishedCount());
+		}
+	}
+
+	@Test
+	public void testWorkerSurvivesListenerErrorWithoutErrorHandler() throws Exception {
+		RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+		multicaster.setBufferSize(8);
+		multicaster.setWorkerCount(2);
+		CountingListener listener = new CountingListener();
+		multicaster.addApplicationListener(listener);
+		multicaster.addApplicationListener((ApplicationListener<TickEvent>) event -> {
+			if (event.sequence % 100 == 0) {
+				throw new IllegalStateException("listener failed");
+			}
+		});
+
+		//缓冲区比事件数小得多，工作线程退出时发布者会一直等待
+		int total = 1000;
+		for (int i = 0; i < total; i++) {
+			multicaster.multicastEvent(new TickEvent(this, 0, i));
+		}
+		multicaster.destroy();
+		assertThat(listener.count.get()).isEqualTo(total);
+		assertThat(multicaster.getConsumedCount()).isEqualTo(total);
+	}
+
+	@Test
+	public void testSynchronousFallbackPropagatesListenerError() throws Exception {
+		RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+		multicaster.addApplicationListener(new FailingListener());
+		multicaster.destroy();
+
+		//关闭后同步调用，没有设置ErrorHandler时异常抛给发布者
+		assertThatThrownBy(() -> multicaster.multicastEvent(new TickEvent(this, 0, 0)))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void testRingBufferMulticasterBean() throws Exception {
+		ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:ring-buffer-event-multicaster.xml");
+		RingBufferApplicationEventMulticaster multicaster = applicationContext.getBean("applicationEventMulticaster", RingBufferApplicationEventMulticaster.class);
+		assertThat(multicaster.getBufferSize()).isEqualTo(64);
+		assertThat(multicaster.getWaitStrategy()).isEqualTo(RingBufferApplicationEventMulticaster.WaitStrategy.SLEEPING);
+
+		for (int i = 0; i < 1000; i++) {
+			applicationContext.publishEvent(new CustomEvent(applicationContext));
+		}
+		applicationContext.close();
+		//容器刷新事件、1000个自定义事件、容器关闭事件
+		assertThat(multicaster.getConsumedCount()).isEqualTo(1002);
+	}
+
+	public static class TickEvent extends ApplicationEvent {
+
+		private final int producer;
+
+		private final int sequence;
+
+		public TickEvent(Object source, int producer, int sequence) {
+			super(source);
+			this.producer = producer;
+			this.sequence = sequence;
+		}
+	}
+
+	public static class FailingListener implements ApplicationListener<TickEvent> {
+
+		@Override
+		public void onApplicationEvent(TickEvent event) {
+			if (event.sequence == 0) {
+				throw new IllegalStateException("listener failed");
+			}
+		}
+	}
+
+	public static class CountingListener implements ApplicationListener<TickEvent> {
+
+		private final AtomicLong count = new AtomicLong();
+
+		@Override
+		public void onApplicationEvent(TickEvent event) {
+			count.incrementAndGet();
+		}
+	}
+
+	public static class SequenceListener implements ApplicationListener<TickEvent> {
+
+		private final AtomicLong count = new AtomicLong();
+
+		private final int[] lastSequences = {-1, -1, -1, -1};
+
+		private volatile boolean outOfOrder;
+
+		@Override
+		public void onApplicationEvent(TickEvent event) {
+			if (event.sequence <= lastSequences[event.producer]) {
+				outOfOrder = true;
+			}
+			lastSequences[event.producer] = event.sequence;
+			count.incrementAndGet();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package org.springframework.test.service;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class SquareService {
+
+	private final AtomicInteger invocationCount = new AtomicInteger();
+
+	private long delayMillis;
+
+	@Cacheable("squares")
+	public long square(int value) throws InterruptedException {
+		invocationCount.incrementAndGet();
+		if (delayMillis > 0) {
+			Thread.sleep(delayMillis);
+		}
+		return (long) value * value;
+	}
+
+	@Cacheable("names")
+	public String findName(String id) {
+		invocationCount.incrementAndGet();
+		return "missing".equals(id) ? null : "name-" + id;
+	}
+
+	@CacheEvict("squares")
+	public void evict(int value) {
+	}
+
+	@CacheEvict(value = "squares", allEntries = true)
+	public void clear() {
+	}
+
+	public int getInvocationCount() {
+		return invocationCount.get();
+	}
+
+	public void setDelayMillis(long delayMillis) {
+		this.delayMillis = delayMillis;
+	}
+}
@@ -0,0 +1,39 @@
+package org.springframework.test.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 不是线程安全的格式化器，被多个线程同时使用时抛出异常
+ *
+ * @author derekyi
+ * @date 2026/10/17
+ */
+public class StatefulFormatter {
+
+	private final AtomicBoolean inUse = new AtomicBoolean();
+
+	private final StringBuilder buffer = new StringBuilder();
+
+	public String format(long value) throws InterruptedException {
+		if (!inUse.compareAndSet(false, true)) {
+			throw new IllegalStateException("Formatter used concurrently");
+		}
+		try {
+			buffer.setLength(0);
+			buffer.append('[').append(value);
+			Thread.sleep(1);
+			return buffer.append(']').toString();
+		} finally {
+			inUse.set(false);
+		}
+	}
+
+	/**
+	 * 通过代理调用时返回实际的目标对象
+	 *
+	 * @return
+	 */
+	public StatefulFormatter self() {
+		return this;
+	}
+}